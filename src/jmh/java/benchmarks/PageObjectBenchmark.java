@@ -0,0 +1,211 @@
+package benchmarks;
+
+import config.DriverPool;
+import models.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.LoginPage;
+import pages.ProductPage;
+import server.LocalSauceDemoServer;
+import utils.WaitEngine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of page-object operations against headless Chrome and the local SauceDemo stand-in.
+ * Besides the latency reported by JMH, every benchmark reports the WebDriver round trips per operation,
+ * printed at the end of the trial and appended to target/jmh-round-trips.csv.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PageObjectBenchmark {
+
+    // Credentials accepted by the SauceDemo stand-in
+    private static final String USERNAME = "standard_user";
+    private static final String PASSWORD = "secret_sauce";
+
+    // Round-trip results shared by all benchmarks of the run
+    private static final Path ROUND_TRIPS_FILE = Paths.get("target", "jmh-round-trips.csv");
+
+    /**
+     * Headless browser with a round-trip counting decorator, prepared on a given page.
+     */
+    public abstract static class BrowserState {
+        protected WebDriver rawDriver;
+        protected WebDriver driver;
+        protected String baseUrl;
+        protected final RoundTripCounter counter = new RoundTripCounter();
+        protected long operations;
+
+        /**
+         * Launches the browser, logs in and lets the subclass open its page.
+         */
+        protected void open() {
+            baseUrl = LocalSauceDemoServer.start();
+            rawDriver = DriverPool.borrow();
+            driver = new EventFiringDecorator<WebDriver>(counter).decorate(rawDriver);
+            rawDriver.get(baseUrl);
+            new LoginPage(rawDriver).loginWithPipeline(USERNAME, PASSWORD);
+            WaitEngine.waitForUrlContains(rawDriver, "inventory.html");
+            prepare();
+            counter.reset();
+        }
+
+        /**
+         * Reports round trips per operation and returns the browser to the pool.
+         */
+        protected void close(String benchmark) {
+            double perOperation = operations == 0 ? 0 : (double) counter.get() / operations;
+            System.out.printf("%n%s: %.2f WebDriver round trips/op over %d ops%n", benchmark, perOperation, operations);
+            try {
+                Files.createDirectories(ROUND_TRIPS_FILE.getParent());
+                Files.writeString(ROUND_TRIPS_FILE, String.format(Locale.ROOT, "%s,%d,%d,%.2f%n", benchmark, operations, counter.get(), perOperation),
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.out.println("Could not write round-trip results: " + e.getMessage());
+            }
+            DriverPool.discard(rawDriver);
+        }
+
+        /**
+         * Brings the browser to the page the benchmark operates on.
+         */
+        protected abstract void prepare();
+    }
+
+    @State(Scope.Thread)
+    public static class InventoryState extends BrowserState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            close("ProductPage.getProducts");
+        }
+
+        @Override
+        protected void prepare() {
+            // Already on the inventory page after logging in
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CartState extends BrowserState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            close("CartPage.getCartProductNames");
+        }
+
+        @Override
+        protected void prepare() {
+            new ProductPage(rawDriver).clickAllAddToCartButtons();
+            rawDriver.get(baseUrl + "cart.html");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CheckoutState extends BrowserState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            close("CheckoutPage.isTitleVisible");
+        }
+
+        @Override
+        protected void prepare() {
+            new ProductPage(rawDriver).clickAllAddToCartButtons();
+            rawDriver.get(baseUrl + "checkout-step-one.html");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LoginState extends BrowserState {
+        @Setup(Level.Trial)
+        public void setUp() {
+            open();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            close("LoginPage.login");
+        }
+
+        @Override
+        protected void prepare() {
+            // Each invocation starts from a fresh login page, see resetToLoginPage()
+        }
+
+        /**
+         * Logs out and reopens the login page through the raw driver, so the reset is not counted.
+         */
+        @Setup(Level.Invocation)
+        public void resetToLoginPage() {
+            rawDriver.manage().deleteAllCookies();
+            ((JavascriptExecutor) rawDriver).executeScript("window.localStorage.clear();");
+            rawDriver.get(baseUrl);
+        }
+    }
+
+    @Benchmark
+    public List<Product> productPageGetProducts(InventoryState state) {
+        state.operations++;
+        return new ProductPage(state.driver).getProducts();
+    }
+
+    @Benchmark
+    public List<String> cartPageGetCartProductNames(CartState state) {
+        state.operations++;
+        return new CartPage(state.driver).getCartProductNames();
+    }
+
+    @Benchmark
+    public boolean checkoutPageIsTitleVisible(CheckoutState state) {
+        state.operations++;
+        return new CheckoutPage(state.driver).isTitleVisible("Checkout: Your Information");
+    }
+
+    @Benchmark
+    public String loginPageLogin(LoginState state) {
+        state.operations++;
+        new LoginPage(state.driver).login(USERNAME, PASSWORD);
+        WaitEngine.waitForUrlContains(state.driver, "inventory.html");
+        return state.driver.getCurrentUrl();
+    }
+}
@@ -0,0 +1,40 @@
+package benchmarks;
+
+import config.CommandMetrics;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebDriver listener counting the calls that result in a WebDriver HTTP round trip.
+ * Accessors that are answered locally by the client (e.g. manage(), navigate()) are ignored.
+ */
+public class RoundTripCounter implements WebDriverListener {
+
+    // Number of round trips since the last reset
+    private final AtomicLong roundTrips = new AtomicLong();
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (CommandMetrics.isRoundTrip(method)) {
+            roundTrips.incrementAndGet();
+        }
+    }
+
+    /**
+     * Retrieves the number of round trips counted so far.
+     *
+     * @return The round trip count.
+     */
+    public long get() {
+        return roundTrips.get();
+    }
+
+    /**
+     * Resets the round trip count to zero.
+     */
+    public void reset() {
+        roundTrips.set(0);
+    }
+}
@@ -0,0 +1,82 @@
+package base;
+
+import config.TestConfig;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import pages.LoginPage;
+import utils.EnvLoader;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Provides an authenticated application session without going through the login form.
+ * The session cookies are captured once per run from a real login and then injected
+ * into every browser that needs to start logged in.
+ */
+public class AuthSession {
+
+    // Cookies that must stay valid for at least this long to be reused
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(30);
+
+    // Session cookies captured from the first real login of the run
+    private static Set<Cookie> sessionCookies;
+
+    /**
+     * Opens the inventory page already authenticated as the valid user.
+     * The browser must currently be on the application base URL.
+     *
+     * @param driver The WebDriver instance to authenticate.
+     */
+    public static void startAuthenticated(WebDriver driver) {
+        Set<Cookie> cookies = getSessionCookies();
+        if (cookies == null) {
+            if (loginAndCapture(driver)) {
+                // This browser went through the real login and is already on the inventory page
+                return;
+            }
+            cookies = getSessionCookies();
+        }
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        driver.get(TestConfig.getBaseUrl() + "inventory.html");
+        PerformanceMonitor.sampleAfterNavigation(driver, "ProductPage", "inventory.html");
+    }
+
+    /**
+     * Returns the cached cookies, or null if none were captured yet or they are about to expire.
+     */
+    private static synchronized Set<Cookie> getSessionCookies() {
+        if (sessionCookies == null) {
+            return null;
+        }
+        Date threshold = new Date(System.currentTimeMillis() + EXPIRY_MARGIN.toMillis());
+        for (Cookie cookie : sessionCookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(threshold)) {
+                sessionCookies = null;
+                return null;
+            }
+        }
+        return sessionCookies;
+    }
+
+    /**
+     * Logs in through the UI once and captures the resulting session cookies.
+     *
+     * @return True if this browser performed the login, false if valid cookies were captured meanwhile.
+     */
+    private static synchronized boolean loginAndCapture(WebDriver driver) {
+        if (getSessionCookies() != null) {
+            return false;
+        }
+        new LoginPage(driver).loginWithPipeline(EnvLoader.getEnv("VALID_USERNAME"), EnvLoader.getEnv("VALID_PASSWORD"));
+        WaitEngine.waitForUrlContains(driver, "inventory.html");
+        sessionCookies = new HashSet<>(driver.manage().getCookies());
+        return true;
+    }
+}
@@ -0,0 +1,16 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test class or test method that should start already logged in.
+ * Instead of going through the login form, {@link BaseTest} injects the shared
+ * authenticated session cookies and opens the inventory page.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Authenticated {
+}
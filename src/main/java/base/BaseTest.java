@@ -1,10 +1,29 @@
 package base;
 
+import config.BrowserContexts;
+import config.CommandMetrics;
 import config.DriverManager;
+import config.EmbeddedDriver;
+import config.NetworkLayer;
+import config.Screencast;
+import config.TestConfig;
 import org.openqa.selenium.WebDriver;
 import java.time.Duration;
+import org.testng.ITestResult;
+import io.qameta.allure.Allure;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+import server.LocalSauceDemoServer;
+import utils.FormPipeline;
+import utils.PageReadiness;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
+
+import java.lang.reflect.Method;
+import java.util.Map;
 
 /**
  * Abstract base class for all test classes.
@@ -13,28 +32,141 @@ import org.testng.annotations.BeforeMethod;
 public abstract class BaseTest {
 
     /**
-     * Setup method to initialize the WebDriver and open the application URL.
-     * Configures an implicit wait of 5 seconds for element searches.
+     * Starts the embedded SauceDemo stand-in before the first test when the run uses it (-Dlocal.server=true).
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void startLocalServer() {
+        LocalSauceDemoServer.startIfEnabled();
+    }
+
+    /**
+     * Setup method to borrow a WebDriver from the pool and open the application URL.
+     * Disables the implicit wait; page objects use the explicit waits of {@link WaitEngine}.
+     * Tests that {@link #startsAuthenticated(Method) start authenticated} skip the login form.
      */
     @BeforeMethod
-    public void setUp() {
-        // Initialize the WebDriver
-        DriverManager.initializeDriver();
+    public void setUp(Method method) {
+        // Borrow a WebDriver for this test thread, or create an embedded one for DOM-only test groups
+        DriverManager.initializeDriver(usesEmbeddedDriver(method));
         WebDriver driver = DriverManager.getDriver();
 
-        // Set an implicit wait of 5 seconds for all element searches
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        // Disable the implicit wait so negative checks do not block for a fixed timeout
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        WaitEngine.resetWaitTime();
+        FormPipeline.resetRoundTripsSaved();
+        CommandMetrics.startTest();
+        NetworkLayer.startTest(DriverManager.getPooledDriver());
+        Screencast.startTest(DriverManager.getPooledDriver());
+        PerformanceMonitor.startTest();
+
+        // Open the application URL (a reused browser is already there after its session reset)
+        String baseUrl = TestConfig.getBaseUrl();
+        if (!baseUrl.equals(driver.getCurrentUrl())) {
+            driver.get(baseUrl);
+            PageReadiness.awaitDocument(driver);
+            PerformanceMonitor.sampleAfterNavigation(driver, "LoginPage", null);
+        }
+
+        // Inject the shared authenticated session for tests that do not exercise the login form
+        if (startsAuthenticated(method)) {
+            AuthSession.startAuthenticated(driver);
+        }
+    }
+
+    /**
+     * Hook deciding whether a test runs on the in-process {@link EmbeddedDriver} instead of Chrome.
+     * By default this is the case when one of the TestNG groups of the test method or its class is listed
+     * in -Ddriver.embedded.groups.
+     *
+     * @param method The test method about to run.
+     * @return True to run the test without a browser process.
+     */
+    protected boolean usesEmbeddedDriver(Method method) {
+        Test methodTest = method.getAnnotation(Test.class);
+        Test classTest = getClass().getAnnotation(Test.class);
+        return (methodTest != null && EmbeddedDriver.isSelected(methodTest.groups()))
+                || (classTest != null && EmbeddedDriver.isSelected(classTest.groups()));
+    }
+
+    /**
+     * Hook deciding whether a test starts on the inventory page already logged in.
+     * By default this is the case when the test method or its class is annotated with {@link Authenticated}.
+     *
+     * @param method The test method about to run.
+     * @return True to inject the authenticated session before the test.
+     */
+    protected boolean startsAuthenticated(Method method) {
+        return method.isAnnotationPresent(Authenticated.class) || getClass().isAnnotationPresent(Authenticated.class);
+    }
+
+    /**
+     * Teardown method to report the time spent waiting and the WebDriver command latencies,
+     * then return the WebDriver to the pool. The WebDriver is returned even if reporting fails,
+     * so a diagnostics error never holds on to a pool slot.
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDown(ITestResult result) {
+        try {
+            attachDiagnostics(result);
+        } finally {
+            // Return the WebDriver to the pool
+            DriverManager.releaseDriver();
+        }
+    }
+
+    /**
+     * Attaches the measurements collected during the test to its Allure result.
+     */
+    private void attachDiagnostics(ITestResult result) {
+        String testId = result.getMethod().getQualifiedName();
+
+        // Attach the time spent in explicit waits and the round trips saved by form pipelines
+        StringBuilder waits = new StringBuilder(String.format("%d ms in explicit waits%n", WaitEngine.getWaitTimeMillis()));
+        if (FormPipeline.getRoundTripsSaved() > 0) {
+            waits.append(String.format("At least %d WebDriver round trips saved through form pipelines%n",
+                    FormPipeline.getRoundTripsSaved()));
+        }
+        Allure.addAttachment("Explicit waits", "text/plain", waits.toString(), ".txt");
+
+        // Attach the per-command latency table to Allure and export it for tooling
+        Map<String, CommandMetrics.CommandStats> commandStats = CommandMetrics.finishTest();
+        if (!commandStats.isEmpty()) {
+            Allure.addAttachment("WebDriver command latency", "text/csv", CommandMetrics.toCsv(commandStats), ".csv");
+            CommandMetrics.export(testId, commandStats);
+        }
+
+        // Attach the page timings and Web Vitals sampled by the page objects
+        String pagePerformance = PerformanceMonitor.finishTest();
+        if (pagePerformance != null) {
+            Allure.addAttachment("Page performance", "text/csv", pagePerformance, ".csv");
+        }
+
+        // Attach the last seconds of the screen to failed tests; encoding runs in the background
+        if (result.getStatus() == ITestResult.FAILURE) {
+            Screencast.attachClip(DriverManager.getPooledDriver());
+        }
+
+        // Attach the requests and bytes saved by the DevTools network layer
+        String networkSavings = NetworkLayer.finishTest(DriverManager.getPooledDriver());
+        if (networkSavings != null) {
+            Allure.addAttachment("Network savings", "text/plain", networkSavings, ".txt");
+        }
 
-        // Open the application URL
-        driver.get("https://www.saucedemo.com/");
+        // Attach the JavaScript heap and DOM size of the test's browser context when sharing browsers
+        String heapAndDom = BrowserContexts.describeHeapAndDom(DriverManager.getPooledDriver());
+        if (heapAndDom != null) {
+            Allure.addAttachment("Browser context JS heap and DOM", "text/plain", heapAndDom, ".txt");
+        }
     }
 
     /**
-     * Teardown method to quit the WebDriver after test execution.
+     * Attaches the per-page performance percentiles of the run to the suite's Allure result.
      */
-    @AfterMethod
-    public void tearDown() {
-        // Quit the WebDriver
-        DriverManager.quitDriver();
+    @AfterSuite(alwaysRun = true)
+    public void attachPerformanceSummary() {
+        String summary = PerformanceMonitor.summary();
+        if (summary != null) {
+            Allure.addAttachment("Page performance summary", "text/csv", summary, ".csv");
+        }
     }
 }
@@ -0,0 +1,227 @@
+package config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import utils.PageReadiness;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs several tests at once in a single Chrome process (-Ddriver.mode=contexts).
+ * Each test gets its own isolated browser context, with separate cookies, storage and cache, and a window in it.
+ * The test drives that window through a lightweight ChromeDriver session attached to the shared browser, so
+ * parallel tests never share a WebDriver session. A host browser serves up to -Ddriver.contexts.per.browser
+ * tests; more hosts are launched when all of them are full.
+ * <p>
+ * The JavaScript heap and DOM size of each context are read through DevTools when its test finishes.
+ */
+public class BrowserContexts {
+
+    // Whether tests run in browser contexts of shared browsers instead of in their own browser
+    private static final boolean ENABLED = TestConfig.get("driver.mode", "browser").equalsIgnoreCase("contexts");
+
+    // Maximum number of concurrent contexts per host browser
+    private static final int CONTEXTS_PER_BROWSER = TestConfig.getInt("driver.contexts.per.browser", 4);
+
+    // Host browsers that own the contexts
+    private static final List<Host> hosts = new ArrayList<>();
+
+    // Context of every attached session handed out to a test
+    private static final Map<WebDriver, Context> contexts = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(BrowserContexts::shutdown, "browser-contexts-shutdown"));
+    }
+
+    /**
+     * Checks whether tests run in browser contexts of shared browsers.
+     *
+     * @return True if -Ddriver.mode=contexts.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Creates an isolated browser context with one window and attaches a WebDriver session to it.
+     *
+     * @return A WebDriver whose current window lives in the new context.
+     */
+    public static WebDriver open() {
+        Host host = reserveHost();
+        try {
+            String contextId = (String) host.send("Target.createBrowserContext", Map.of("disposeOnDetach", false)).get("browserContextId");
+            String targetId = (String) host.send("Target.createTarget", Map.of("url", "about:blank", "browserContextId", contextId)).get("targetId");
+
+            ChromeOptions options = new ChromeOptions();
+            options.setExperimentalOption("debuggerAddress", host.debuggerAddress);
+            options.setPageLoadStrategy(PageReadiness.getStrategy());
+            WebDriver driver = new ChromeDriver(options);
+            driver.switchTo().window(targetId);
+            ((HasCdp) driver).executeCdpCommand("Performance.enable", Map.of());
+
+            contexts.put(driver, new Context(host, contextId));
+            return driver;
+        } catch (RuntimeException e) {
+            host.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Checks whether a WebDriver is attached to a browser context created by {@link #open()}.
+     *
+     * @param driver The WebDriver to check.
+     * @return True if the driver belongs to a shared browser.
+     */
+    public static boolean owns(WebDriver driver) {
+        return driver != null && contexts.containsKey(driver);
+    }
+
+    /**
+     * Reads the JavaScript heap and DOM counters of the page a context's WebDriver is attached to.
+     * This is not the context's total memory: renderer, GPU and network memory are not included.
+     *
+     * @param driver The WebDriver returned by {@link #open()}.
+     * @return A summary of the JavaScript heap and DOM size, or null if the driver has no context.
+     */
+    @SuppressWarnings("unchecked")
+    public static String describeHeapAndDom(WebDriver driver) {
+        if (!owns(driver)) {
+            return null;
+        }
+        try {
+            Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Performance.getMetrics", Map.of());
+            Map<String, Number> metrics = new LinkedHashMap<>();
+            for (Map<String, Object> metric : (List<Map<String, Object>>) result.get("metrics")) {
+                metrics.put((String) metric.get("name"), (Number) metric.get("value"));
+            }
+            return String.format("JS heap used: %.1f MB%nJS heap total: %.1f MB%nDOM nodes: %d%nDocuments: %d%n",
+                    metrics.getOrDefault("JSHeapUsedSize", 0).doubleValue() / (1024 * 1024),
+                    metrics.getOrDefault("JSHeapTotalSize", 0).doubleValue() / (1024 * 1024),
+                    metrics.getOrDefault("Nodes", 0).longValue(),
+                    metrics.getOrDefault("Documents", 0).longValue());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Ends the attached session and disposes of its browser context, closing its windows and discarding
+     * its cookies and storage. The host browser stays up for the next context.
+     *
+     * @param driver The WebDriver returned by {@link #open()}.
+     */
+    public static void close(WebDriver driver) {
+        Context context = contexts.remove(driver);
+        if (context == null) {
+            return;
+        }
+        try {
+            // Attached sessions do not own the browser, so quitting only ends the session
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Failed to end attached session: " + e.getMessage());
+        }
+        try {
+            context.host.send("Target.disposeBrowserContext", Map.of("browserContextId", context.contextId));
+        } catch (Exception e) {
+            System.out.println("Failed to dispose browser context: " + e.getMessage());
+        } finally {
+            context.host.release();
+        }
+    }
+
+    /**
+     * Quits all host browsers. Registered as a JVM shutdown hook.
+     */
+    public static void shutdown() {
+        List<Host> running;
+        synchronized (hosts) {
+            running = new ArrayList<>(hosts);
+            hosts.clear();
+        }
+        for (Host host : running) {
+            try {
+                host.driver.quit();
+            } catch (Exception e) {
+                System.out.println("Failed to quit host browser: " + e.getMessage());
+            }
+        }
+        if (!running.isEmpty()) {
+            System.out.println(String.format("Browser contexts: %d host browser(s) served up to %d contexts each", running.size(), CONTEXTS_PER_BROWSER));
+        }
+    }
+
+    /**
+     * Reserves a context slot on a host browser, launching a new host when all are full.
+     */
+    private static Host reserveHost() {
+        synchronized (hosts) {
+            for (Host host : hosts) {
+                if (host.inUse < CONTEXTS_PER_BROWSER) {
+                    host.inUse++;
+                    return host;
+                }
+            }
+            Host host = new Host(DriverManager.createDriver());
+            host.inUse++;
+            hosts.add(host);
+            return host;
+        }
+    }
+
+    /**
+     * Browser process shared by several contexts.
+     */
+    private static class Host {
+        private final WebDriver driver;
+        private final String debuggerAddress;
+        private final DevTools devTools;
+        private int inUse;
+
+        @SuppressWarnings("unchecked")
+        Host(WebDriver driver) {
+            this.driver = driver;
+            Map<String, Object> chromeOptions = (Map<String, Object>) ((ChromeDriver) driver).getCapabilities().getCapability("goog:chromeOptions");
+            this.debuggerAddress = (String) chromeOptions.get("debuggerAddress");
+            this.devTools = ((HasDevTools) driver).getDevTools();
+        }
+
+        /**
+         * Sends a browser-level DevTools command.
+         */
+        synchronized Map<String, Object> send(String method, Map<String, Object> params) {
+            return devTools.send(new Command<Map<String, Object>>(method, params, Json.MAP_TYPE));
+        }
+
+        void release() {
+            synchronized (hosts) {
+                inUse--;
+            }
+        }
+    }
+
+    /**
+     * Browser context owned by one attached session.
+     */
+    private static class Context {
+        private final Host host;
+        private final String contextId;
+
+        Context(Host host, String contextId) {
+            this.host = host;
+            this.contextId = contextId;
+        }
+    }
+}
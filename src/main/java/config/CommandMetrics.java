@@ -0,0 +1,249 @@
+package config;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * WebDriver listener recording the count and latency histogram of every WebDriver command per test.
+ * {@link DriverManager} decorates each driver with this listener; measurements are kept per thread,
+ * so parallel tests never mix their numbers.
+ */
+public class CommandMetrics implements WebDriverListener {
+
+    // Upper bounds (in ms) of the latency histogram buckets; the last bucket is open-ended
+    private static final long[] BUCKET_BOUNDS_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    // Methods of the decorated objects that are answered locally and never reach the browser
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getCapabilities", "getSessionId",
+            "toString", "hashCode", "equals");
+
+    // Script commands, which may block on purpose until an in-page condition holds (waits, DOM settling)
+    private static final Set<String> SCRIPT_METHODS = Set.of("executeScript", "executeAsyncScript");
+
+    // Folder receiving the machine-readable export of each test
+    private static final Path EXPORT_DIR = Paths.get(TestConfig.get("metrics.dir", "target/command-metrics"));
+
+    // Shared listener instance used to decorate every driver
+    private static final CommandMetrics INSTANCE = new CommandMetrics();
+
+    // Per-command statistics of the test running on the current thread
+    private static final ThreadLocal<Map<String, CommandStats>> currentTest = ThreadLocal.withInitial(TreeMap::new);
+
+    // Start times of the commands in flight on the current thread
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    // WebDriver round trips sent by the current thread, for before/after measurements
+    private static final ThreadLocal<long[]> threadRoundTrips = ThreadLocal.withInitial(() -> new long[1]);
+
+    // Latency of the non-script commands of all threads since the last call to takeRecentAverageMillis
+    private static final LongAdder recentNanos = new LongAdder();
+    private static final LongAdder recentCount = new LongAdder();
+
+    /**
+     * Retrieves the shared listener instance.
+     *
+     * @return The listener used to decorate drivers.
+     */
+    public static CommandMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether a decorated call results in a WebDriver HTTP round trip.
+     *
+     * @param method The invoked method.
+     * @return True if the call is sent to the browser.
+     */
+    public static boolean isRoundTrip(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isRoundTrip(method)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method);
+    }
+
+    /**
+     * Starts a new measurement for the test running on the current thread.
+     */
+    public static void startTest() {
+        currentTest.get().clear();
+        startTimes.get().clear();
+    }
+
+    /**
+     * Finishes the measurement of the current test and returns its statistics, ordered by command name.
+     *
+     * @return Snapshot of the per-command statistics.
+     */
+    public static Map<String, CommandStats> finishTest() {
+        Map<String, CommandStats> snapshot = new TreeMap<>(currentTest.get());
+        currentTest.get().clear();
+        return snapshot;
+    }
+
+    /**
+     * Retrieves the number of WebDriver round trips the current thread has sent through decorated drivers.
+     * The difference between two calls measures the round trips of the code in between.
+     *
+     * @return The round trips sent by the current thread so far; stays 0 with -Dmetrics.enabled=false.
+     */
+    public static long getRoundTrips() {
+        return threadRoundTrips.get()[0];
+    }
+
+    /**
+     * Returns the average latency of the commands of all threads since the previous call, and starts a new window.
+     * Script commands are left out: their duration is that of the in-page wait, not of the browser's responsiveness.
+     *
+     * @return The average command latency in milliseconds, or NaN if no command finished in the window.
+     */
+    public static double takeRecentAverageMillis() {
+        long count = recentCount.sumThenReset();
+        long nanos = recentNanos.sumThenReset();
+        return count == 0 ? Double.NaN : nanos / 1e6 / count;
+    }
+
+    /**
+     * Formats statistics as CSV, which Allure renders as a table.
+     *
+     * @param stats The per-command statistics.
+     * @return CSV text with one row per command.
+     */
+    public static String toCsv(Map<String, CommandStats> stats) {
+        StringBuilder csv = new StringBuilder("command,count,total ms,avg ms,min ms,max ms");
+        for (long bound : BUCKET_BOUNDS_MS) {
+            csv.append(",<").append(bound).append(" ms");
+        }
+        csv.append(",>=").append(BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1]).append(" ms\n");
+        stats.forEach((command, stat) -> {
+            csv.append(command).append(',').append(stat.count)
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", stat.totalMillis()))
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", stat.averageMillis()))
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", stat.minNanos / 1e6))
+                    .append(',').append(String.format(Locale.ROOT, "%.1f", stat.maxNanos / 1e6));
+            for (long bucket : stat.histogram) {
+                csv.append(',').append(bucket);
+            }
+            csv.append('\n');
+        });
+        return csv.toString();
+    }
+
+    /**
+     * Writes statistics as JSON to the metrics folder.
+     *
+     * @param testId The test identifier used as file name.
+     * @param stats  The per-command statistics.
+     */
+    public static void export(String testId, Map<String, CommandStats> stats) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("test", testId);
+        document.put("histogramBucketsMs", Arrays.stream(BUCKET_BOUNDS_MS).boxed().collect(Collectors.toList()));
+        Map<String, Object> commands = new LinkedHashMap<>();
+        stats.forEach((command, stat) -> commands.put(command, stat.toMap()));
+        document.put("commands", commands);
+        try {
+            Files.createDirectories(EXPORT_DIR);
+            Files.writeString(EXPORT_DIR.resolve(testId + ".json"), new Json().toJson(document), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.out.println("Could not export command metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records the latency of a finished command for the current thread.
+     */
+    private static void record(Method method) {
+        if (!isRoundTrip(method) || startTimes.get().isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startTimes.get().pop();
+        threadRoundTrips.get()[0]++;
+        if (!SCRIPT_METHODS.contains(method.getName())) {
+            recentNanos.add(elapsed);
+            recentCount.increment();
+        }
+        currentTest.get().computeIfAbsent(method.getName(), name -> new CommandStats()).add(elapsed);
+    }
+
+    /**
+     * Count, total, extremes and latency histogram of one command type.
+     */
+    public static class CommandStats {
+        private long count;
+        private long totalNanos;
+        private long minNanos = Long.MAX_VALUE;
+        private long maxNanos;
+        private final long[] histogram = new long[BUCKET_BOUNDS_MS.length + 1];
+
+        private void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            minNanos = Math.min(minNanos, nanos);
+            maxNanos = Math.max(maxNanos, nanos);
+            long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && millis >= BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            histogram[bucket]++;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double totalMillis() {
+            return totalNanos / 1e6;
+        }
+
+        public double averageMillis() {
+            return count == 0 ? 0 : totalNanos / 1e6 / count;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("totalMs", totalMillis());
+            map.put("avgMs", averageMillis());
+            map.put("minMs", minNanos / 1e6);
+            map.put("maxMs", maxNanos / 1e6);
+            map.put("histogram", Arrays.stream(histogram).boxed().collect(Collectors.toList()));
+            return map;
+        }
+    }
+}
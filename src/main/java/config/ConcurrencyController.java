@@ -0,0 +1,207 @@
+package config;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts the number of concurrently active browsers of the {@link DriverPool} to the host (-Dconcurrency.adaptive=true).
+ * Every -Dconcurrency.interval.seconds it reads the system CPU load, the available memory and the average latency
+ * of the non-script WebDriver commands recorded by {@link CommandMetrics} since the previous check (script commands
+ * include the in-page waits, which block on purpose), and adjusts the pool limit
+ * additively-increase / multiplicatively-decrease:
+ * <ul>
+ *     <li>when the host is overloaded (CPU above concurrency.cpu.high, available memory below concurrency.memory.min.mb
+ *     or command latency above concurrency.latency.max.ms) the limit is halved, but only once the browsers of the
+ *     previous decrease have been released;</li>
+ *     <li>when test threads are waiting for a browser and the CPU is below concurrency.cpu.low, the limit grows by one.</li>
+ * </ul>
+ * The limit stays between concurrency.min and driver.pool.size, so the suite's thread-count and the pool size
+ * should be set to the highest concurrency the controller may choose. Every change is logged.
+ */
+public class ConcurrencyController {
+
+    // Whether the pool limit is adjusted at runtime
+    private static final boolean ENABLED = TestConfig.getBoolean("concurrency.adaptive", false);
+
+    // Time between two decisions
+    private static final int INTERVAL_SECONDS = TestConfig.getInt("concurrency.interval.seconds", 5);
+
+    // Bounds and starting point of the limit
+    private static final int MIN_LIMIT = TestConfig.getInt("concurrency.min", 1);
+    private static final int INITIAL_LIMIT = TestConfig.getInt("concurrency.initial", Math.max(1, DriverPool.getMaxSize() / 2));
+
+    // System CPU load (percent) above which the limit is halved, and below which it may grow
+    private static final int CPU_HIGH_PERCENT = TestConfig.getInt("concurrency.cpu.high", 85);
+    private static final int CPU_LOW_PERCENT = TestConfig.getInt("concurrency.cpu.low", 70);
+
+    // Available memory below which the limit is halved
+    private static final long MEMORY_MIN_MB = TestConfig.getInt("concurrency.memory.min.mb", 1024);
+
+    // Linux memory statistics, read for MemAvailable
+    private static final Path MEMINFO = Paths.get("/proc/meminfo");
+
+    // Average WebDriver command latency above which the limit is halved
+    private static final double LATENCY_MAX_MS = TestConfig.getInt("concurrency.latency.max.ms", 500);
+
+    private static final long MB = 1024L * 1024L;
+
+    // Runs the periodic decisions
+    private static ScheduledExecutorService scheduler;
+
+    // Range of limits chosen during the run, for the summary
+    private static int lowestLimit = Integer.MAX_VALUE;
+    private static int highestLimit;
+    private static int changes;
+
+    /**
+     * Checks whether the adaptive concurrency controller is enabled.
+     *
+     * @return True if -Dconcurrency.adaptive=true.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Applies the initial limit and starts the periodic decisions, once. Does nothing unless enabled.
+     */
+    public static synchronized void start() {
+        if (!ENABLED || scheduler != null) {
+            return;
+        }
+        int limit = DriverPool.setLimit(Math.max(MIN_LIMIT, INITIAL_LIMIT));
+        recordLimit(limit);
+        System.out.println(String.format("Concurrency controller: starting with %d of at most %d browsers", limit, DriverPool.getMaxSize()));
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-controller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                decide();
+            } catch (RuntimeException e) {
+                System.out.println("Concurrency controller: decision failed: " + e.getMessage());
+            }
+        }, INTERVAL_SECONDS, INTERVAL_SECONDS, TimeUnit.SECONDS);
+        Runtime.getRuntime().addShutdownHook(new Thread(ConcurrencyController::stop, "concurrency-controller-shutdown"));
+    }
+
+    /**
+     * Stops the decisions and prints the range of limits used during the run.
+     */
+    public static synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        scheduler = null;
+        System.out.println(String.format("Concurrency controller: %d change(s), limit between %d and %d, ended at %d browsers",
+                changes, lowestLimit, highestLimit, DriverPool.getLimit()));
+    }
+
+    /**
+     * Reads the host and command metrics and raises, lowers or keeps the pool limit.
+     */
+    private static synchronized void decide() {
+        double cpuPercent = systemCpuLoad() * 100;
+        long memory = availableMemory();
+        long availableMemoryMb = memory < 0 ? -1 : memory / MB;
+        double latencyMillis = CommandMetrics.takeRecentAverageMillis();
+        int limit = DriverPool.getLimit();
+        int active = DriverPool.getActiveCount();
+
+        String overload = null;
+        if (cpuPercent >= CPU_HIGH_PERCENT) {
+            overload = String.format("CPU at %.0f%%", cpuPercent);
+        } else if (availableMemoryMb >= 0 && availableMemoryMb < MEMORY_MIN_MB) {
+            overload = String.format("%d MB available memory", availableMemoryMb);
+        } else if (!Double.isNaN(latencyMillis) && latencyMillis > LATENCY_MAX_MS) {
+            overload = String.format("command latency at %.0f ms", latencyMillis);
+        }
+
+        int newLimit;
+        String reason;
+        if (overload != null) {
+            if (active > limit) {
+                // Browsers of the previous decrease are still in use; give them time to be released
+                return;
+            }
+            newLimit = Math.max(MIN_LIMIT, limit / 2);
+            reason = overload;
+        } else if (DriverPool.hasWaitingBorrowers() && (cpuPercent < 0 || cpuPercent < CPU_LOW_PERCENT)) {
+            newLimit = limit + 1;
+            reason = "tests waiting for a browser";
+        } else {
+            return;
+        }
+
+        newLimit = DriverPool.setLimit(newLimit);
+        if (newLimit != limit) {
+            changes++;
+            recordLimit(newLimit);
+            System.out.println(String.format("Concurrency controller: %s (CPU %s, %d MB available, command latency %s, %d active) -> %d to %d browsers",
+                    reason, cpuPercent < 0 ? "n/a" : String.format("%.0f%%", cpuPercent), availableMemoryMb,
+                    Double.isNaN(latencyMillis) ? "n/a" : String.format("%.0f ms", latencyMillis), active, limit, newLimit));
+        }
+    }
+
+    /**
+     * Tracks the range of limits used during the run.
+     */
+    private static void recordLimit(int limit) {
+        lowestLimit = Math.min(lowestLimit, limit);
+        highestLimit = Math.max(highestLimit, limit);
+    }
+
+    /**
+     * Reads the recent CPU load of the whole host.
+     *
+     * @return The load between 0 and 1, or a negative value if the JVM cannot read it.
+     */
+    @SuppressWarnings("deprecation")
+    private static double systemCpuLoad() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getSystemCpuLoad();
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the memory the host can still give to new processes.
+     * On Linux this is MemAvailable from /proc/meminfo: the free physical memory reported by the JVM is MemFree,
+     * which leaves out the page cache the kernel reclaims on demand and stays low on any busy host. Elsewhere the
+     * free physical memory is used.
+     *
+     * @return The available memory in bytes, or a negative value if it cannot be read.
+     */
+    @SuppressWarnings("deprecation")
+    private static long availableMemory() {
+        if (Files.isReadable(MEMINFO)) {
+            try {
+                for (String line : Files.readAllLines(MEMINFO, StandardCharsets.US_ASCII)) {
+                    if (line.startsWith("MemAvailable:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                System.out.println("Could not read " + MEMINFO + ": " + e.getMessage());
+            }
+        }
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getFreePhysicalMemorySize();
+        }
+        return -1;
+    }
+}
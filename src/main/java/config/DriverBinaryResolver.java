@@ -0,0 +1,164 @@
+package config;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the ChromeDriver binary once per JVM.
+ * <p>
+ * Resolution order:
+ * <ol>
+ *     <li>An explicit driver path (-Ddriver.path or -Dwebdriver.chrome.driver) is used as is.</li>
+ *     <li>The on-disk cache, keyed by the installed Chrome version, is consulted without any network lookup. When
+ *     the version cannot be detected, the driver downloaded last time without a version is reused.</li>
+ *     <li>Unless -Ddriver.offline=true, WebDriverManager downloads the matching driver and the cache is updated.</li>
+ * </ol>
+ */
+public class DriverBinaryResolver {
+
+    // System property read by ChromeDriverService to locate the driver binary
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+
+    // Name of the index file mapping Chrome versions to driver binaries
+    private static final String CACHE_INDEX = "driver-cache.properties";
+
+    // Cache index key of the driver resolved while the Chrome version could not be detected
+    private static final String UNKNOWN_VERSION = "unknown";
+
+    // Matches the version printed by "chrome --version", e.g. "Google Chrome 119.0.6045.105"
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(\\.\\d+)+)");
+
+    // Whether the binary has already been resolved in this JVM
+    private static volatile boolean resolved;
+
+    /**
+     * Ensures the ChromeDriver binary is available and registered for this JVM.
+     * Only the first call does any work; later calls return immediately.
+     */
+    public static void resolve() {
+        if (resolved) {
+            return;
+        }
+        synchronized (DriverBinaryResolver.class) {
+            if (!resolved) {
+                String driverPath = resolveDriverPath();
+                System.setProperty(CHROME_DRIVER_PROPERTY, driverPath);
+                System.out.println("Using ChromeDriver binary: " + driverPath);
+                resolved = true;
+            }
+        }
+    }
+
+    /**
+     * Finds the driver binary following the resolution order described on the class.
+     */
+    private static String resolveDriverPath() {
+        String explicitPath = TestConfig.get("driver.path", System.getProperty(CHROME_DRIVER_PROPERTY));
+        if (explicitPath != null) {
+            if (!Files.isExecutable(Paths.get(explicitPath))) {
+                throw new IllegalStateException("Configured ChromeDriver binary is not executable: " + explicitPath);
+            }
+            return explicitPath;
+        }
+
+        boolean offline = TestConfig.getBoolean("driver.offline", false);
+        Path cacheDir = Paths.get(TestConfig.get("driver.cache.dir",
+                Paths.get(System.getProperty("user.home"), ".cache", "helm-qa", "drivers").toString()));
+        Optional<String> chromeVersion = detectChromeVersion();
+        String cacheKey = chromeVersion.orElse(UNKNOWN_VERSION);
+
+        String cachedPath = loadIndex(cacheDir).getProperty(cacheKey);
+        if (cachedPath != null && Files.isExecutable(Paths.get(cachedPath))) {
+            return cachedPath;
+        }
+
+        if (offline) {
+            throw new IllegalStateException("Offline mode is enabled but no cached ChromeDriver matches Chrome "
+                    + chromeVersion.orElse("(version not detected)") + ". Provide one with -Ddriver.path=/path/to/chromedriver.");
+        }
+
+        WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir.toString());
+        manager.browserVersion(chromeVersion.orElse("latest")).setup();
+        String downloadedPath = manager.getDownloadedDriverPath();
+
+        Properties index = loadIndex(cacheDir);
+        index.setProperty(cacheKey, downloadedPath);
+        storeIndex(cacheDir, index);
+        return downloadedPath;
+    }
+
+    /**
+     * Detects the installed Chrome version by running the local browser binary.
+     *
+     * @return The full Chrome version, or empty if it could not be determined.
+     */
+    private static Optional<String> detectChromeVersion() {
+        String configuredVersion = TestConfig.get("chrome.version", null);
+        if (configuredVersion != null) {
+            return Optional.of(configuredVersion);
+        }
+        try {
+            Optional<Path> browserPath = WebDriverManager.chromedriver().getBrowserPath();
+            if (browserPath.isEmpty()) {
+                return Optional.empty();
+            }
+            Process process = new ProcessBuilder(browserPath.get().toString(), "--version")
+                    .redirectErrorStream(true)
+                    .start();
+            String output;
+            try (InputStream stream = process.getInputStream()) {
+                output = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            process.waitFor(10, TimeUnit.SECONDS);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Loads the cache index, returning an empty index if it does not exist yet.
+     */
+    private static Properties loadIndex(Path cacheDir) {
+        Properties index = new Properties();
+        Path indexFile = cacheDir.resolve(CACHE_INDEX);
+        if (Files.exists(indexFile)) {
+            try (InputStream stream = Files.newInputStream(indexFile)) {
+                index.load(stream);
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable driver cache index: " + e.getMessage());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Writes the cache index; a failure only costs a network lookup on the next run.
+     */
+    private static void storeIndex(Path cacheDir, Properties index) {
+        try {
+            Files.createDirectories(cacheDir);
+            try (OutputStream stream = Files.newOutputStream(cacheDir.resolve(CACHE_INDEX))) {
+                index.store(stream, "Chrome version to ChromeDriver binary");
+            }
+        } catch (IOException e) {
+            System.out.println("Could not update driver cache index: " + e.getMessage());
+        }
+    }
+}
@@ -1,54 +1,149 @@
 package config;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import utils.LocatorProfiler;
+import utils.PageReadiness;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Manages the WebDriver instance lifecycle for the tests.
- * Provides methods to initialize, retrieve, and quit the WebDriver.
+ * Each thread is bound to its own WebDriver borrowed from the {@link DriverPool},
+ * so tests running in parallel never share a browser.
+ * Unless -Dmetrics.enabled=false, the driver handed to tests is decorated with {@link CommandMetrics}
+ * to record the latency of every WebDriver command; -Dlocator.profiling=true adds the {@link LocatorProfiler}.
+ * With -Dnetwork.layer=true the pooled browser also gets the DevTools {@link NetworkLayer},
+ * and with -Dscreencast.enabled=true it streams its screen into a {@link Screencast} ring buffer.
+ * Tests of the groups in -Ddriver.embedded.groups get a throwaway {@link EmbeddedDriver} instead of a pooled browser.
  */
 public class DriverManager {
 
-    // Singleton WebDriver instance
-    private static WebDriver driver;
+    // Whether drivers are decorated with the command latency instrumentation
+    private static final boolean METRICS_ENABLED = TestConfig.getBoolean("metrics.enabled", true);
+
+    // Whether element lookups are timed per locator for the suite-wide locator report
+    private static final boolean LOCATOR_PROFILING = TestConfig.getBoolean("locator.profiling", false);
+
+    // WebDriver instance bound to the current test thread, as handed to the tests
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    // Undecorated WebDriver owned by the pool, bound to the current test thread
+    private static final ThreadLocal<WebDriver> pooledDriver = new ThreadLocal<>();
 
     /**
-     * Initializes the WebDriver instance if it is null.
-     * Configures ChromeDriver with WebDriverManager and custom options.
+     * Borrows a WebDriver from the pool for the current thread if it does not have one yet.
      */
     public static void initializeDriver() {
-        if (driver == null) {
-            WebDriverManager.chromedriver().browserVersion("latest").setup();
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--start-maximized");
-            options.addArguments("--disable-notifications");
-            driver = new ChromeDriver(options);
+        initializeDriver(false);
+    }
+
+    /**
+     * Binds a WebDriver to the current thread if it does not have one yet: a new {@link EmbeddedDriver}
+     * outside the pool, or a browser borrowed from the pool.
+     *
+     * @param embedded True to use the in-process embedded driver instead of Chrome.
+     */
+    public static void initializeDriver(boolean embedded) {
+        if (driver.get() == null) {
+            WebDriver borrowed = embedded ? EmbeddedDriver.create() : DriverPool.borrow();
+            pooledDriver.set(borrowed);
+            NetworkLayer.install(borrowed);
+            Screencast.start(borrowed);
+            List<WebDriverListener> listeners = new ArrayList<>();
+            if (METRICS_ENABLED) {
+                listeners.add(CommandMetrics.getInstance());
+            }
+            if (LOCATOR_PROFILING) {
+                listeners.add(LocatorProfiler.getInstance());
+            }
+            driver.set(listeners.isEmpty()
+                    ? borrowed
+                    : new EventFiringDecorator<WebDriver>(listeners.toArray(new WebDriverListener[0])).decorate(borrowed));
         }
     }
 
     /**
-     * Retrieves the current WebDriver instance.
+     * Retrieves the WebDriver instance bound to the current thread.
      * Initializes the WebDriver if it has not been created yet.
      *
-     * @return The current WebDriver instance.
+     * @return The current thread's WebDriver instance.
      */
     public static WebDriver getDriver() {
-        if (driver == null) {
+        if (driver.get() == null) {
             initializeDriver();
         }
-        return driver;
+        return driver.get();
     }
 
     /**
-     * Quits the WebDriver instance and sets it to null.
+     * Returns the current thread's WebDriver to the pool and unbinds it from the thread.
+     */
+    public static void releaseDriver() {
+        WebDriver current = pooledDriver.get();
+        if (current != null) {
+            unbind();
+            if (EmbeddedDriver.isEmbedded(current)) {
+                current.quit();
+            } else {
+                DriverPool.release(current);
+            }
+        }
+    }
+
+    /**
+     * Quits the current thread's WebDriver and unbinds it from the thread.
      * Ensures the instance is not reused after being quit.
      */
     public static void quitDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        WebDriver current = pooledDriver.get();
+        if (current != null) {
+            unbind();
+            if (EmbeddedDriver.isEmbedded(current)) {
+                current.quit();
+            } else {
+                DriverPool.discard(current);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the undecorated WebDriver bound to the current thread, e.g. for DevTools access.
+     *
+     * @return The pooled WebDriver, or null if the thread has none.
+     */
+    public static WebDriver getPooledDriver() {
+        return pooledDriver.get();
+    }
+
+    /**
+     * Removes both driver bindings from the current thread.
+     */
+    private static void unbind() {
+        driver.remove();
+        pooledDriver.remove();
+    }
+
+    /**
+     * Launches a new ChromeDriver with custom options and the configured page-load strategy.
+     * The driver binary is resolved only once per JVM by {@link DriverBinaryResolver}.
+     *
+     * @return A freshly started WebDriver instance.
+     */
+    static WebDriver createDriver() {
+        DriverBinaryResolver.resolve();
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--start-maximized");
+        options.addArguments("--disable-notifications");
+        options.setPageLoadStrategy(PageReadiness.getStrategy());
+        if (TestConfig.getBoolean("browser.headless", false)) {
+            options.addArguments("--headless=new");
+            options.addArguments("--window-size=1920,1080");
         }
+        return new ChromeDriver(options);
     }
 }
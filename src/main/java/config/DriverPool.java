@@ -0,0 +1,418 @@
+package config;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of WebDriver instances shared by the TestNG worker threads.
+ * Each borrower receives its own isolated browser; the pool caps how many browsers
+ * may be alive at the same time (configurable with -Ddriver.pool.size).
+ * <p>
+ * With -Ddriver.reuse=true returned browsers are kept warm: their session is reset
+ * (cookies, localStorage, sessionStorage) and they are handed to the next borrower
+ * after a health check, instead of being quit and relaunched for every test.
+ * <p>
+ * With -Ddriver.mode=contexts each borrower gets an isolated context of a shared browser from
+ * {@link BrowserContexts} instead; the pool size then caps the number of concurrent contexts.
+ * <p>
+ * With -Ddriver.prewarm.count=N the pool keeps N extra browsers launched and navigated to the base URL in the
+ * background. A borrower takes one of them instead of waiting for a launch, and a replacement is started right away.
+ */
+public class DriverPool {
+
+    // Maximum number of browsers that may be open concurrently
+    private static final int MAX_SIZE = TestConfig.getInt("driver.pool.size", Runtime.getRuntime().availableProcessors());
+
+    // Whether returned browsers are reset and reused instead of quit
+    private static final boolean REUSE = TestConfig.getBoolean("driver.reuse", false);
+
+    // Number of browsers kept launched and navigated in the background, ready for the next borrower
+    private static final int PREWARM_COUNT = TestConfig.getInt("driver.prewarm.count", 0);
+
+    // Maximum time a warm browser may take to answer the health check
+    private static final long HEALTH_CHECK_TIMEOUT_MS = TestConfig.getInt("driver.health.timeout.ms", 5000);
+
+    // One permit per browser slot; fair so waiting threads are served in order
+    private static final AdjustableSemaphore slots = new AdjustableSemaphore(MAX_SIZE);
+
+    // Current number of slots, lowered and raised by the ConcurrencyController within 1..MAX_SIZE
+    private static volatile int limit = MAX_SIZE;
+
+    // Browsers currently handed out to a test thread
+    private static final Set<WebDriver> activeDrivers = ConcurrentHashMap.newKeySet();
+
+    // Warm browsers waiting for the next borrower (reuse mode only)
+    private static final Deque<WebDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+
+    // Prewarmed browsers launched in the background and not handed out yet
+    private static final Deque<WebDriver> prewarmedDrivers = new ConcurrentLinkedDeque<>();
+
+    // Launches replacing prewarmed browsers that have been handed out
+    private static final ExecutorService provisioner = Executors.newFixedThreadPool(Math.max(1, PREWARM_COUNT), runnable -> {
+        Thread thread = new Thread(runnable, "driver-provisioner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Prewarmed browsers currently being launched
+    private static final AtomicInteger provisioning = new AtomicInteger();
+
+    // Set once the pool shuts down, so no further browsers are provisioned
+    private static volatile boolean shuttingDown;
+
+    // Runs health checks so a hung browser cannot block the test thread indefinitely
+    private static final ExecutorService healthChecker = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Launch statistics used to report the time saved by reuse
+    private static final AtomicInteger launches = new AtomicInteger();
+    private static final AtomicLong launchMillis = new AtomicLong();
+    private static final AtomicInteger reuses = new AtomicInteger();
+    private static final AtomicInteger replacedUnhealthy = new AtomicInteger();
+    private static final AtomicInteger prewarmedHits = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+        replenishPrewarmed();
+        ConcurrencyController.start();
+    }
+
+    /**
+     * Borrows a browser from the pool, blocking while all slots are in use.
+     * In reuse mode a healthy warm browser is preferred, then a prewarmed one, over launching a new one.
+     *
+     * @return A WebDriver owned exclusively by the calling thread until it is released.
+     */
+    public static WebDriver borrow() {
+        try {
+            slots.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a free browser slot", e);
+        }
+
+        try {
+            WebDriver driver = takeHealthyIdleDriver();
+            if (driver == null) {
+                driver = takePrewarmedDriver();
+            }
+            if (driver == null) {
+                driver = launch();
+            }
+            activeDrivers.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a browser to the pool and frees its slot.
+     * In reuse mode the browser session is reset and the browser is kept warm;
+     * otherwise (or if the reset fails) the browser is quit.
+     *
+     * @param driver The WebDriver previously obtained from {@link #borrow()}.
+     */
+    public static void release(WebDriver driver) {
+        if (!activeDrivers.remove(driver)) {
+            return;
+        }
+        try {
+            if (REUSE && !BrowserContexts.owns(driver) && resetSession(driver)) {
+                idleDrivers.push(driver);
+            } else {
+                quietlyQuit(driver);
+            }
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Quits a browser and frees its slot without returning it to the idle set.
+     *
+     * @param driver The WebDriver previously obtained from {@link #borrow()}.
+     */
+    public static void discard(WebDriver driver) {
+        if (!activeDrivers.remove(driver)) {
+            return;
+        }
+        try {
+            quietlyQuit(driver);
+        } finally {
+            slots.release();
+        }
+    }
+
+    /**
+     * Stops provisioning, health checks and the concurrency controller, quits all idle and prewarmed browsers and
+     * prints the launch statistics of this run. Registered as a JVM shutdown hook; safe to call more than once.
+     */
+    public static void shutdown() {
+        shuttingDown = true;
+        ConcurrencyController.stop();
+        provisioner.shutdown();
+        try {
+            // Let launches in flight finish so their browsers are reaped instead of leaked
+            provisioner.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        healthChecker.shutdownNow();
+        WebDriver idle;
+        while ((idle = idleDrivers.poll()) != null) {
+            quietlyQuit(idle);
+        }
+        while ((idle = prewarmedDrivers.poll()) != null) {
+            quietlyQuit(idle);
+        }
+        if ((REUSE || PREWARM_COUNT > 0) && (launches.get() > 0 || reuses.get() > 0)) {
+            System.out.println(getStatistics());
+            reuses.set(0);
+            launches.set(0);
+            launchMillis.set(0);
+            replacedUnhealthy.set(0);
+            prewarmedHits.set(0);
+        }
+    }
+
+    /**
+     * Builds a summary of browser launches and the launch time saved by reuse.
+     *
+     * @return A human-readable statistics line.
+     */
+    public static String getStatistics() {
+        int launchCount = launches.get();
+        long averageLaunchMillis = launchCount == 0 ? 0 : launchMillis.get() / launchCount;
+        return String.format("Driver pool: %d browser launch(es) averaging %d ms, %d reuse(s), %d prewarmed browser(s) taken, %d unhealthy browser(s) replaced, ~%d ms launch time saved",
+                launchCount, averageLaunchMillis, reuses.get(), prewarmedHits.get(), replacedUnhealthy.get(),
+                (reuses.get() + prewarmedHits.get()) * averageLaunchMillis);
+    }
+
+    /**
+     * Retrieves the configured maximum number of concurrent browsers.
+     *
+     * @return The pool size.
+     */
+    public static int getMaxSize() {
+        return MAX_SIZE;
+    }
+
+    /**
+     * Changes the number of browsers that may be borrowed at the same time.
+     * Lowering the limit never interrupts a test: borrowers simply wait until enough browsers have been released.
+     *
+     * @param newLimit The requested number of slots; clamped to 1..{@link #getMaxSize()}.
+     * @return The limit in effect.
+     */
+    public static synchronized int setLimit(int newLimit) {
+        int clamped = Math.max(1, Math.min(MAX_SIZE, newLimit));
+        if (clamped > limit) {
+            slots.release(clamped - limit);
+        } else if (clamped < limit) {
+            slots.reducePermits(limit - clamped);
+        }
+        limit = clamped;
+        return clamped;
+    }
+
+    /**
+     * Retrieves the number of browsers that may currently be borrowed at the same time.
+     *
+     * @return The current limit.
+     */
+    public static int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Retrieves the number of browsers currently handed out.
+     *
+     * @return The number of borrowed browsers.
+     */
+    public static int getActiveCount() {
+        return activeDrivers.size();
+    }
+
+    /**
+     * Checks whether test threads are blocked waiting for a free slot.
+     *
+     * @return True if at least one borrower is waiting.
+     */
+    public static boolean hasWaitingBorrowers() {
+        return slots.hasQueuedThreads();
+    }
+
+    /**
+     * Checks whether reuse mode is enabled.
+     *
+     * @return True if returned browsers are kept warm.
+     */
+    public static boolean isReuseEnabled() {
+        return REUSE;
+    }
+
+    /**
+     * Launches a new browser (or opens a new context of a shared browser) and records how long it took.
+     */
+    private static WebDriver launch() {
+        long start = System.nanoTime();
+        WebDriver driver = BrowserContexts.isEnabled() ? BrowserContexts.open() : DriverManager.createDriver();
+        launches.incrementAndGet();
+        launchMillis.addAndGet(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return driver;
+    }
+
+    /**
+     * Takes warm browsers from the idle set until a healthy one is found.
+     * Crashed or unresponsive browsers are quit and skipped.
+     */
+    private static WebDriver takeHealthyIdleDriver() {
+        WebDriver driver;
+        while ((driver = idleDrivers.poll()) != null) {
+            if (isHealthy(driver)) {
+                reuses.incrementAndGet();
+                return driver;
+            }
+            replacedUnhealthy.incrementAndGet();
+            quietlyQuit(driver);
+        }
+        return null;
+    }
+
+    /**
+     * Takes a healthy prewarmed browser, if any, and starts launching its replacement.
+     */
+    private static WebDriver takePrewarmedDriver() {
+        WebDriver driver;
+        try {
+            while ((driver = prewarmedDrivers.poll()) != null) {
+                if (isHealthy(driver)) {
+                    prewarmedHits.incrementAndGet();
+                    return driver;
+                }
+                replacedUnhealthy.incrementAndGet();
+                quietlyQuit(driver);
+            }
+            return null;
+        } finally {
+            replenishPrewarmed();
+        }
+    }
+
+    /**
+     * Starts background launches until the prewarmed browsers, ready or in flight, reach the configured count.
+     */
+    private static void replenishPrewarmed() {
+        while (!shuttingDown && prewarmedDrivers.size() + provisioning.get() < PREWARM_COUNT) {
+            provisioning.incrementAndGet();
+            try {
+                provisioner.execute(DriverPool::provisionOne);
+            } catch (RuntimeException e) {
+                // The provisioner is shutting down
+                provisioning.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Launches one browser, navigates it to the base URL and adds it to the prewarmed browsers.
+     */
+    private static void provisionOne() {
+        WebDriver driver = null;
+        try {
+            driver = launch();
+            driver.get(TestConfig.getBaseUrl());
+            if (shuttingDown) {
+                quietlyQuit(driver);
+            } else {
+                prewarmedDrivers.add(driver);
+            }
+        } catch (Exception e) {
+            System.out.println("Failed to prewarm browser: " + e.getMessage());
+            if (driver != null) {
+                quietlyQuit(driver);
+            }
+        } finally {
+            provisioning.decrementAndGet();
+        }
+    }
+
+    /**
+     * Verifies that the browser still answers a trivial command within the health check timeout.
+     */
+    private static boolean isHealthy(WebDriver driver) {
+        try {
+            CompletableFuture.supplyAsync(driver::getWindowHandle, healthChecker)
+                    .get(HEALTH_CHECK_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Wipes cookies and web storage and navigates back to the application base URL.
+     *
+     * @return True if the session was reset and the browser can be reused.
+     */
+    private static boolean resetSession(WebDriver driver) {
+        try {
+            driver.get(TestConfig.getBaseUrl());
+            driver.manage().deleteAllCookies();
+            ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Quits a browser, ignoring failures from browsers that have already crashed.
+     */
+    private static void quietlyQuit(WebDriver driver) {
+        NetworkLayer.uninstall(driver);
+        Screencast.stop(driver);
+        if (BrowserContexts.owns(driver)) {
+            BrowserContexts.close(driver);
+            return;
+        }
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.out.println("Failed to quit browser: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fair semaphore whose permits can also be taken away, to shrink the pool while browsers are in use.
+     */
+    private static class AdjustableSemaphore extends Semaphore {
+
+        AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        @Override
+        protected void reducePermits(int reduction) {
+            super.reducePermits(reduction);
+        }
+    }
+}
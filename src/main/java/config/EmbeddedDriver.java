@@ -0,0 +1,68 @@
+package config;
+
+import com.gargoylesoftware.htmlunit.BrowserVersion;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-process HtmlUnit driver for tests that check DOM state rather than rendering, e.g. error messages,
+ * sort order and cart contents. It runs the application's JavaScript in the JVM without a browser process, so a
+ * session starts in milliseconds and uses a fraction of Chrome's memory. Tests in one of the TestNG groups listed
+ * in -Ddriver.embedded.groups get a fresh embedded driver instead of a pooled Chrome; everything else, and every
+ * run without the setting, keeps using Chrome.
+ * <p>
+ * Embedded drivers have no DevTools, so the network layer, screencasts and browser contexts skip them.
+ */
+public class EmbeddedDriver {
+
+    // TestNG groups whose tests run on the embedded driver
+    private static final Set<String> GROUPS = Arrays.stream(TestConfig.get("driver.embedded.groups", "").split(","))
+            .map(String::trim)
+            .filter(group -> !group.isEmpty())
+            .collect(Collectors.toSet());
+
+    // Browser name reported by HtmlUnitDriver sessions
+    private static final String BROWSER_NAME = "htmlunit";
+
+    // Script timeout of W3C browser drivers, applied to embedded drivers for the in-page scripts of page objects
+    private static final Duration SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Checks whether a test of the given groups runs on the embedded driver.
+     *
+     * @param groups The TestNG groups of the test.
+     * @return True if one of the groups is listed in -Ddriver.embedded.groups.
+     */
+    public static boolean isSelected(String[] groups) {
+        return Arrays.stream(groups).anyMatch(GROUPS::contains);
+    }
+
+    /**
+     * Creates an embedded driver emulating Chrome, with JavaScript enabled.
+     *
+     * @return A new HtmlUnit driver, owned by the caller.
+     */
+    public static WebDriver create() {
+        WebDriver driver = new HtmlUnitDriver(BrowserVersion.CHROME, true);
+        // HtmlUnit gives async scripts no time by default; use the W3C default of the browser drivers
+        driver.manage().timeouts().scriptTimeout(SCRIPT_TIMEOUT);
+        return driver;
+    }
+
+    /**
+     * Checks whether a WebDriver, possibly decorated, is an embedded driver.
+     *
+     * @param driver The WebDriver to check.
+     * @return True if the driver runs in-process on HtmlUnit.
+     */
+    public static boolean isEmbedded(WebDriver driver) {
+        return driver instanceof HasCapabilities
+                && BROWSER_NAME.equals(((HasCapabilities) driver).getCapabilities().getBrowserName());
+    }
+}
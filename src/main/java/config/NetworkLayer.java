@@ -0,0 +1,179 @@
+package config;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Chrome DevTools network layer enabled with -Dnetwork.layer=true.
+ * Requests whose URL contains one of the -Dnetwork.block patterns (analytics and tracking by default) are answered
+ * with an empty response without reaching the network. Successful GET responses for static assets
+ * (-Dnetwork.cache.pattern) are kept in a cache shared by all browsers of the JVM and served from there on repeat
+ * requests. The savings are counted per browser and reported per test.
+ */
+public class NetworkLayer {
+
+    // Whether the network layer is installed on pooled browsers
+    private static final boolean ENABLED = TestConfig.getBoolean("network.layer", false);
+
+    // URL fragments of requests that are never sent
+    private static final List<String> BLOCKED = Arrays.stream(TestConfig.get("network.block",
+                    "google-analytics.com,googletagmanager.com,doubleclick.net,backtrace.io,optimizely.com,hotjar.com").split(","))
+            .map(String::trim)
+            .filter(pattern -> !pattern.isEmpty())
+            .collect(Collectors.toList());
+
+    // URLs of static assets that may be served from the shared cache
+    private static final Pattern CACHEABLE = Pattern.compile(TestConfig.get("network.cache.pattern",
+            "\\.(png|jpe?g|gif|svg|webp|ico|woff2?|ttf|css|js)(\\?.*)?$"));
+
+    // Upper bound of the shared cache size
+    private static final long CACHE_MAX_BYTES = TestConfig.getInt("network.cache.max.mb", 64) * 1024L * 1024L;
+
+    // Static assets shared by all browsers, keyed by URL
+    private static final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private static final AtomicLong cacheBytes = new AtomicLong();
+
+    // Network layer of every browser it is installed on
+    private static final Map<WebDriver, NetworkLayer> layers = new ConcurrentHashMap<>();
+
+    private final NetworkInterceptor interceptor;
+    private final AtomicLong blockedRequests = new AtomicLong();
+    private final AtomicLong cachedRequests = new AtomicLong();
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    private NetworkLayer(WebDriver driver) {
+        this.interceptor = new NetworkInterceptor(driver, (Filter) next -> request -> handle(request, () -> next.execute(request)));
+    }
+
+    /**
+     * Checks whether the network layer is enabled.
+     *
+     * @return True if -Dnetwork.layer=true.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Installs the network layer on a browser, once. Browsers without DevTools support are left untouched.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void install(WebDriver driver) {
+        if (ENABLED && driver instanceof HasDevTools) {
+            layers.computeIfAbsent(driver, NetworkLayer::new);
+        }
+    }
+
+    /**
+     * Removes the network layer from a browser that is about to quit.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void uninstall(WebDriver driver) {
+        NetworkLayer layer = layers.remove(driver);
+        if (layer != null) {
+            try {
+                layer.interceptor.close();
+            } catch (Exception e) {
+                // The DevTools connection is gone together with the browser
+            }
+        }
+    }
+
+    /**
+     * Resets the savings of a browser at the start of a test.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void startTest(WebDriver driver) {
+        NetworkLayer layer = driver == null ? null : layers.get(driver);
+        if (layer != null) {
+            layer.blockedRequests.set(0);
+            layer.cachedRequests.set(0);
+            layer.cachedBytes.set(0);
+        }
+    }
+
+    /**
+     * Summarizes the savings of a browser since the start of the test.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     * @return The summary, or null if the browser has no network layer.
+     */
+    public static String finishTest(WebDriver driver) {
+        NetworkLayer layer = driver == null ? null : layers.get(driver);
+        if (layer == null) {
+            return null;
+        }
+        return String.format("blocked requests: %d%nrequests served from cache: %d%nbytes served from cache: %d%nshared cache: %d assets, %d bytes%n",
+                layer.blockedRequests.get(), layer.cachedRequests.get(), layer.cachedBytes.get(), cache.size(), cacheBytes.get());
+    }
+
+    /**
+     * Answers blocked and cached requests locally; fetches and caches everything else.
+     */
+    private HttpResponse handle(HttpRequest request, Supplier<HttpResponse> fetch) {
+        String url = request.getUri();
+        if (BLOCKED.stream().anyMatch(url::contains)) {
+            blockedRequests.incrementAndGet();
+            return new HttpResponse().setStatus(204);
+        }
+
+        boolean cacheable = request.getMethod() == HttpMethod.GET && CACHEABLE.matcher(url).find();
+        CachedResponse cached = cacheable ? cache.get(url) : null;
+        if (cached != null) {
+            cachedRequests.incrementAndGet();
+            cachedBytes.addAndGet(cached.body.length);
+            return cached.toResponse();
+        }
+
+        HttpResponse response = fetch.get();
+        if (cacheable && response.getStatus() == 200) {
+            byte[] body = Contents.bytes(response.getContent());
+            response.setContent(Contents.bytes(body));
+            if (cacheBytes.get() + body.length <= CACHE_MAX_BYTES && cache.putIfAbsent(url, new CachedResponse(response, body)) == null) {
+                cacheBytes.addAndGet(body.length);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Status, headers and body of a cached asset.
+     */
+    private static class CachedResponse {
+        private final int status;
+        private final List<String[]> headers = new ArrayList<>();
+        private final byte[] body;
+
+        CachedResponse(HttpResponse response, byte[] body) {
+            this.status = response.getStatus();
+            this.body = body;
+            response.forEachHeader((name, value) -> headers.add(new String[]{name, value}));
+        }
+
+        HttpResponse toResponse() {
+            HttpResponse response = new HttpResponse().setStatus(status);
+            headers.forEach(header -> response.addHeader(header[0], header[1]));
+            response.setContent(Contents.bytes(body));
+            return response;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package config;
+
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chrome DevTools screencast enabled with -Dscreencast.enabled=true.
+ * The browser streams small JPEG frames of the page, of which only the last -Dscreencast.seconds are kept in
+ * a bounded in-memory ring buffer per browser. When a test fails, the buffered frames are encoded into an
+ * animated GIF on a background thread and attached to the Allure result; for passing tests the buffer is
+ * simply cleared, so nothing is decoded, encoded or written.
+ */
+public class Screencast {
+
+    // Whether pooled browsers stream their screen into a ring buffer
+    private static final boolean ENABLED = TestConfig.getBoolean("screencast.enabled", false);
+
+    // Length of the clip kept for a failing test
+    private static final double KEEP_SECONDS = TestConfig.getInt("screencast.seconds", 10);
+
+    // Hard cap on the number of buffered frames per browser
+    private static final int MAX_FRAMES = TestConfig.getInt("screencast.max.frames", 150);
+
+    // Frame size and quality requested from the browser; small frames keep the capture cheap
+    private static final int MAX_WIDTH = TestConfig.getInt("screencast.max.width", 800);
+    private static final int JPEG_QUALITY = TestConfig.getInt("screencast.quality", 50);
+
+    // Encodes clips off the test threads
+    private static final ExecutorService encoder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screencast-encoder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Screencast of every browser it is running on
+    private static final Map<WebDriver, Screencast> screencasts = new ConcurrentHashMap<>();
+
+    private final DevTools devTools;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // Let clips of the last failures finish writing
+            encoder.shutdown();
+            try {
+                encoder.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "screencast-shutdown"));
+    }
+
+    private Screencast(WebDriver driver) {
+        devTools = ((HasDevTools) driver).getDevTools();
+        // Attach to this driver's own page; in a shared browser any other page target may belong to another test
+        devTools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+        devTools.addListener(new Event<Map<String, Object>>("Page.screencastFrame", input -> input.read(Json.MAP_TYPE)), this::onFrame);
+        devTools.send(new Command<Void>("Page.startScreencast",
+                Map.of("format", "jpeg", "quality", JPEG_QUALITY, "maxWidth", MAX_WIDTH, "maxHeight", MAX_WIDTH)));
+    }
+
+    /**
+     * Starts streaming a browser's screen into its ring buffer, once. Browsers without DevTools support are skipped.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void start(WebDriver driver) {
+        if (!ENABLED || !(driver instanceof HasDevTools)) {
+            return;
+        }
+        try {
+            screencasts.computeIfAbsent(driver, Screencast::new);
+        } catch (Exception e) {
+            System.out.println("Could not start screencast: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stops the screencast of a browser that is about to quit.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void stop(WebDriver driver) {
+        Screencast screencast = screencasts.remove(driver);
+        if (screencast != null) {
+            try {
+                screencast.devTools.send(new Command<Void>("Page.stopScreencast", Map.of()));
+            } catch (Exception e) {
+                // The DevTools connection is gone together with the browser
+            }
+        }
+    }
+
+    /**
+     * Drops the frames buffered so far, so the next clip only shows the current test.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void startTest(WebDriver driver) {
+        Screencast screencast = driver == null ? null : screencasts.get(driver);
+        if (screencast != null) {
+            synchronized (screencast.frames) {
+                screencast.frames.clear();
+            }
+        }
+    }
+
+    /**
+     * Attaches the buffered frames of a browser to the current Allure test as an animated GIF.
+     * The attachment is registered on the calling (test) thread; decoding and encoding run in the background.
+     *
+     * @param driver The undecorated WebDriver owned by the pool.
+     */
+    public static void attachClip(WebDriver driver) {
+        Screencast screencast = driver == null ? null : screencasts.get(driver);
+        if (screencast == null) {
+            return;
+        }
+        List<Frame> clip;
+        synchronized (screencast.frames) {
+            clip = new ArrayList<>(screencast.frames);
+            screencast.frames.clear();
+        }
+        if (clip.isEmpty()) {
+            return;
+        }
+        String source = Allure.getLifecycle().prepareAttachment("Screencast (last " + (int) KEEP_SECONDS + " s)", "image/gif", ".gif");
+        encoder.execute(() -> {
+            try {
+                Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(encodeGif(clip)));
+            } catch (Exception e) {
+                System.out.println("Could not encode screencast: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Buffers a frame, evicts frames older than the clip length and acknowledges it so the browser sends the next.
+     */
+    private void onFrame(Map<String, Object> event) {
+        Map<?, ?> metadata = (Map<?, ?>) event.get("metadata");
+        double timestamp = ((Number) metadata.get("timestamp")).doubleValue();
+        synchronized (frames) {
+            frames.addLast(new Frame((String) event.get("data"), timestamp));
+            while (frames.size() > MAX_FRAMES || timestamp - frames.peekFirst().timestamp > KEEP_SECONDS) {
+                frames.removeFirst();
+            }
+        }
+        try {
+            devTools.send(new Command<Void>("Page.screencastFrameAck", Map.of("sessionId", event.get("sessionId"))));
+        } catch (Exception e) {
+            // The browser is closing
+        }
+    }
+
+    /**
+     * Encodes frames into a looping animated GIF, keeping their original timing.
+     */
+    private static byte[] encodeGif(List<Frame> clip) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("gif").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            writer.prepareWriteSequence(null);
+            for (int i = 0; i < clip.size(); i++) {
+                BufferedImage jpeg = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(clip.get(i).data)));
+                BufferedImage image = new BufferedImage(jpeg.getWidth(), jpeg.getHeight(), BufferedImage.TYPE_INT_RGB);
+                image.getGraphics().drawImage(jpeg, 0, 0, null);
+                double next = i + 1 < clip.size() ? clip.get(i + 1).timestamp : clip.get(i).timestamp + 1;
+                int delayCentiseconds = (int) Math.max(2, Math.round((next - clip.get(i).timestamp) * 100));
+                writer.writeToSequence(new IIOImage(image, null, frameMetadata(writer, image, delayCentiseconds, i == 0)), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Builds the GIF metadata of one frame: its display time and, on the first frame, infinite looping.
+     */
+    private static IIOMetadata frameMetadata(ImageWriter writer, BufferedImage image, int delayCentiseconds, boolean first) throws IOException {
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        IIOMetadata metadata = writer.getDefaultImageMetadata(ImageTypeSpecifier.createFromRenderedImage(image), param);
+        String format = metadata.getNativeMetadataFormatName();
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(format);
+
+        IIOMetadataNode control = child(root, "GraphicControlExtension");
+        control.setAttribute("disposalMethod", "none");
+        control.setAttribute("userInputFlag", "FALSE");
+        control.setAttribute("transparentColorFlag", "FALSE");
+        control.setAttribute("delayTime", Integer.toString(delayCentiseconds));
+        control.setAttribute("transparentColorIndex", "0");
+
+        if (first) {
+            IIOMetadataNode extensions = child(root, "ApplicationExtensions");
+            IIOMetadataNode loop = new IIOMetadataNode("ApplicationExtension");
+            loop.setAttribute("applicationID", "NETSCAPE");
+            loop.setAttribute("authenticationCode", "2.0");
+            loop.setUserObject(new byte[]{1, 0, 0});
+            extensions.appendChild(loop);
+        }
+        metadata.setFromTree(format, root);
+        return metadata;
+    }
+
+    /**
+     * Finds a metadata node by name, creating it if the tree has none.
+     */
+    private static IIOMetadataNode child(IIOMetadataNode root, String name) {
+        for (int i = 0; i < root.getLength(); i++) {
+            if (root.item(i).getNodeName().equalsIgnoreCase(name)) {
+                return (IIOMetadataNode) root.item(i);
+            }
+        }
+        IIOMetadataNode node = new IIOMetadataNode(name);
+        root.appendChild(node);
+        return node;
+    }
+
+    /**
+     * Base64 JPEG frame and its capture time in seconds.
+     */
+    private static class Frame {
+        private final String data;
+        private final double timestamp;
+
+        Frame(String data, double timestamp) {
+            this.data = data;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package config;
+
+/**
+ * Central access point for framework settings.
+ * Values are read from JVM system properties first (e.g. -Ddriver.pool.size=4),
+ * then from environment variables (e.g. DRIVER_POOL_SIZE), and finally fall back to the given default.
+ */
+public class TestConfig {
+
+    /**
+     * Retrieves a setting as a string.
+     *
+     * @param key          The dotted property key, e.g. "driver.pool.size".
+     * @param defaultValue The value to use when the setting is not defined.
+     * @return The configured value, or the default if not found.
+     */
+    public static String get(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null || value.isBlank()) {
+            value = System.getenv(key.toUpperCase().replace('.', '_'));
+        }
+        return (value == null || value.isBlank()) ? defaultValue : value.trim();
+    }
+
+    /**
+     * Retrieves a setting as an integer.
+     *
+     * @param key          The dotted property key.
+     * @param defaultValue The value to use when the setting is not defined.
+     * @return The configured value, or the default if not found.
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Setting '" + key + "' must be an integer but was '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Retrieves a setting as a boolean.
+     *
+     * @param key          The dotted property key.
+     * @param defaultValue The value to use when the setting is not defined.
+     * @return The configured value, or the default if not found.
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Retrieves the application base URL, always ending with a slash.
+     * With -Dlocal.server=true this is the URL the embedded SauceDemo stand-in published (local.server.url)
+     * when it was started.
+     *
+     * @return The local server URL, the URL configured with -Dbase.url, or the public SauceDemo site.
+     * @throws IllegalStateException If -Dlocal.server=true but the local server has not been started.
+     */
+    public static String getBaseUrl() {
+        if (getBoolean("local.server", false)) {
+            String localUrl = get("local.server.url", null);
+            if (localUrl == null) {
+                throw new IllegalStateException("-Dlocal.server=true but the local SauceDemo server has not been started");
+            }
+            return localUrl;
+        }
+        String url = get("base.url", "https://www.saucedemo.com/");
+        return url.endsWith("/") ? url : url + "/";
+    }
+}
@@ -0,0 +1,67 @@
+package listeners;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the Allure results of several shards into one folder, from which a single report is generated.
+ * Result, container and attachment files have unique names and are all copied; shared files such as
+ * environment.properties or executor.json are taken from the first shard that has them.
+ * <p>
+ * Usage: AllureResultsMerger &lt;target dir&gt; &lt;shard dir&gt; [&lt;shard dir&gt; ...]
+ */
+public class AllureResultsMerger {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: AllureResultsMerger <target dir> <shard dir> [<shard dir> ...]");
+        }
+        List<Path> shards = Arrays.stream(args, 1, args.length).map(Paths::get).collect(Collectors.toList());
+        merge(Paths.get(args[0]), shards);
+    }
+
+    /**
+     * Copies the results of every shard into the target folder, skipping files that are already present.
+     *
+     * @param target The folder receiving the merged results; created if missing.
+     * @param shards The results folders of the shards; missing folders are skipped.
+     * @return The number of files copied.
+     * @throws IOException If a file cannot be read or written.
+     */
+    public static int merge(Path target, List<Path> shards) throws IOException {
+        Files.createDirectories(target);
+        int copied = 0;
+        int skipped = 0;
+        for (Path source : shards) {
+            if (!Files.isDirectory(source)) {
+                System.out.println("Skipping missing shard results " + source.toAbsolutePath());
+                continue;
+            }
+            if (Files.isSameFile(source, target)) {
+                continue;
+            }
+            List<Path> files;
+            try (Stream<Path> walk = Files.walk(source)) {
+                files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+            }
+            for (Path file : files) {
+                Path destination = target.resolve(source.relativize(file).toString());
+                if (Files.exists(destination)) {
+                    skipped++;
+                    continue;
+                }
+                Files.createDirectories(destination.getParent());
+                Files.copy(file, destination);
+                copied++;
+            }
+        }
+        System.out.println(String.format("Merged %d files into %s (%d already present)", copied, target.toAbsolutePath(), skipped));
+        return copied;
+    }
+}
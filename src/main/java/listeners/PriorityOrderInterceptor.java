@@ -0,0 +1,52 @@
+package listeners;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestNG interceptor ordering the test methods from the {@link RunHistoryStore}:
+ * tests that failed recently run first (the most recent failures first), then the remaining tests from the
+ * slowest to the fastest, so long tests start early when running in parallel.
+ * Tests without history count as the average known duration. Nothing changes when there is no history yet.
+ */
+public class PriorityOrderInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Map<String, RunHistoryStore.TestHistory> histories = RunHistoryStore.load();
+        if (histories.isEmpty()) {
+            return methods;
+        }
+        long fallback = (long) histories.values().stream()
+                .mapToLong(RunHistoryStore.TestHistory::averageDurationMillis).average().orElse(0);
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator
+                .comparingInt((IMethodInstance method) -> failureRank(histories.get(ShardingInterceptor.testName(method))))
+                .thenComparing(Comparator.comparingLong((IMethodInstance method) -> {
+                    RunHistoryStore.TestHistory history = histories.get(ShardingInterceptor.testName(method));
+                    return history == null ? fallback : history.averageDurationMillis();
+                }).reversed()));
+
+        long failing = ordered.stream().filter(method -> failureRank(histories.get(ShardingInterceptor.testName(method))) != Integer.MAX_VALUE).count();
+        System.out.println(String.format("Run history: %d recently failed tests first, then %d by descending duration",
+                failing, ordered.size() - failing));
+        return ordered;
+    }
+
+    /**
+     * Ranks a test by how recently it failed; tests that did not fail within the window rank last.
+     */
+    private static int failureRank(RunHistoryStore.TestHistory history) {
+        if (history == null || history.runsSinceLastFailure() < 0) {
+            return Integer.MAX_VALUE;
+        }
+        return history.runsSinceLastFailure();
+    }
+}
@@ -0,0 +1,37 @@
+package listeners;
+
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * TestNG listener recording the outcome and duration of every test in the {@link RunHistoryStore}.
+ */
+public class RunHistoryListener implements ITestListener {
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result, "SUCCESS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result, "FAILURE");
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        record(result, "FAILURE");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result, "SKIPPED");
+    }
+
+    /**
+     * Appends the finished test to the run history.
+     */
+    private void record(ITestResult result, String outcome) {
+        RunHistoryStore.append(result.getMethod().getQualifiedName(), outcome, result.getEndMillis() - result.getStartMillis());
+    }
+}
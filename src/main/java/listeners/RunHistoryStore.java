@@ -0,0 +1,127 @@
+package listeners;
+
+import config.TestConfig;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only store of test outcomes across runs.
+ * Every finished test adds one line "timestamp,test id,outcome,duration ms" to a file in the project folder
+ * (-Drun.history.file, default run-history.csv), which survives mvn clean. Only the most recent
+ * -Drun.history.window entries of each test are taken into account when reading it back.
+ */
+public class RunHistoryStore {
+
+    // File holding the run history
+    private static final Path HISTORY_FILE = Paths.get(TestConfig.get("run.history.file", "run-history.csv"));
+
+    // Number of most recent runs of a test considered when reading the history
+    private static final int WINDOW = TestConfig.getInt("run.history.window", 10);
+
+    /**
+     * Appends the outcome of a finished test.
+     *
+     * @param testId         The test identifier (class.method).
+     * @param outcome        The outcome, e.g. SUCCESS or FAILURE.
+     * @param durationMillis The test duration in milliseconds.
+     */
+    public static synchronized void append(String testId, String outcome, long durationMillis) {
+        String line = String.format("%s,%s,%s,%d%n", Instant.now(), testId, outcome, durationMillis);
+        try {
+            Files.writeString(HISTORY_FILE, line, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println("Could not record run history: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the recent history of every test.
+     *
+     * @return The history keyed by test identifier; empty if nothing has been recorded yet.
+     */
+    public static synchronized Map<String, TestHistory> load() {
+        return load(HISTORY_FILE);
+    }
+
+    /**
+     * Reads the recent history of every test from the given file, skipping malformed lines.
+     *
+     * @param historyFile The run history file.
+     * @return The history keyed by test identifier; empty if the file does not exist.
+     */
+    static Map<String, TestHistory> load(Path historyFile) {
+        Map<String, TestHistory> histories = new HashMap<>();
+        if (!Files.exists(historyFile)) {
+            return histories;
+        }
+        try {
+            for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                String[] fields = line.split(",");
+                if (fields.length != 4) {
+                    continue;
+                }
+                long durationMillis;
+                try {
+                    durationMillis = Long.parseLong(fields[3].trim());
+                } catch (NumberFormatException e) {
+                    // Skip lines truncated by an interrupted run
+                    continue;
+                }
+                histories.computeIfAbsent(fields[1], id -> new TestHistory()).add(fields[2], durationMillis);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read run history: " + e.getMessage());
+        }
+        return histories;
+    }
+
+    /**
+     * Most recent outcomes and durations of one test, oldest first.
+     */
+    public static class TestHistory {
+        private final List<String> outcomes = new ArrayList<>();
+        private final List<Long> durations = new ArrayList<>();
+
+        private void add(String outcome, long durationMillis) {
+            outcomes.add(outcome);
+            durations.add(durationMillis);
+            if (outcomes.size() > WINDOW) {
+                outcomes.remove(0);
+                durations.remove(0);
+            }
+        }
+
+        /**
+         * Counts the runs since the test last failed.
+         *
+         * @return 0 if the last run failed, 1 if the one before, ...; -1 if it did not fail within the window.
+         */
+        public int runsSinceLastFailure() {
+            for (int i = outcomes.size() - 1; i >= 0; i--) {
+                if (outcomes.get(i).equals("FAILURE")) {
+                    return outcomes.size() - 1 - i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Calculates the average duration within the window.
+         *
+         * @return The average duration in milliseconds.
+         */
+        public long averageDurationMillis() {
+            return (long) durations.stream().mapToLong(Long::longValue).average().orElse(0);
+        }
+    }
+}
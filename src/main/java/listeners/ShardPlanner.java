@@ -0,0 +1,119 @@
+package listeners;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits tests into shards of about the same total duration.
+ * Durations come from the *-result.json files of previous Allure runs; tests without history are assumed to take
+ * the average known duration. The plan is deterministic, so every JVM computing it from the same history and
+ * the same tests assigns each test to the same shard. Without any history all tests weigh the same and are dealt
+ * out in name order, which balances the shards by test count.
+ */
+public class ShardPlanner {
+
+    // Duration assumed for every test when no history is available at all
+    private static final long DEFAULT_DURATION_MS = 1000;
+
+    /**
+     * Reads the most recent duration of every test from an Allure results folder.
+     *
+     * @param resultsDir The Allure results folder.
+     * @return Duration in milliseconds keyed by the test's full name (class.method); empty if the folder does not exist.
+     */
+    public static Map<String, Long> readDurations(Path resultsDir) {
+        Map<String, Long> durations = new HashMap<>();
+        Map<String, Long> finishedAt = new HashMap<>();
+        if (!Files.isDirectory(resultsDir)) {
+            return durations;
+        }
+        Json json = new Json();
+        try (Stream<Path> files = Files.list(resultsDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith("-result.json")).collect(Collectors.toList())) {
+                Map<String, Object> result = json.toType(Files.readString(file, StandardCharsets.UTF_8), Json.MAP_TYPE);
+                Object fullName = result.get("fullName");
+                Object start = result.get("start");
+                Object stop = result.get("stop");
+                if (!(fullName instanceof String) || !(start instanceof Number) || !(stop instanceof Number)) {
+                    continue;
+                }
+                long stopMillis = ((Number) stop).longValue();
+                if (stopMillis >= finishedAt.getOrDefault(fullName, Long.MIN_VALUE)) {
+                    finishedAt.put((String) fullName, stopMillis);
+                    durations.put((String) fullName, stopMillis - ((Number) start).longValue());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not read test durations from " + resultsDir + ": " + e.getMessage());
+        }
+        return durations;
+    }
+
+    /**
+     * Assigns tests to shards with the longest-processing-time-first heuristic: tests are taken from the longest
+     * to the shortest and each goes to the shard with the least total duration so far.
+     *
+     * @param tests     The full names of all tests to distribute.
+     * @param durations Known durations in milliseconds keyed by full name.
+     * @param total     The number of shards.
+     * @return The shards, each with its tests and estimated duration.
+     */
+    public static List<Shard> plan(Collection<String> tests, Map<String, Long> durations, int total) {
+        long fallback = (long) durations.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_DURATION_MS);
+        List<String> ordered = new ArrayList<>(tests);
+        ordered.sort(Comparator.comparingLong((String test) -> durations.getOrDefault(test, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Shard> shards = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            shards.add(new Shard(i));
+        }
+        for (String test : ordered) {
+            Shard lightest = shards.stream().min(Comparator.comparingLong(Shard::getEstimatedMillis)).orElseThrow();
+            lightest.add(test, durations.getOrDefault(test, fallback));
+        }
+        return shards;
+    }
+
+    /**
+     * Tests assigned to one shard and their estimated duration.
+     */
+    public static class Shard {
+        private final int index;
+        private final List<String> tests = new ArrayList<>();
+        private long estimatedMillis;
+
+        Shard(int index) {
+            this.index = index;
+        }
+
+        private void add(String test, long durationMillis) {
+            tests.add(test);
+            estimatedMillis += durationMillis;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<String> getTests() {
+            return tests;
+        }
+
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+    }
+}
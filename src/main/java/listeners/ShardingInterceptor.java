@@ -0,0 +1,67 @@
+package listeners;
+
+import config.TestConfig;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * TestNG interceptor running only this JVM's share of the test methods.
+ * With -Dshard.total=N and -Dshard.index=i (0-based) the methods are split by {@link ShardPlanner} using the
+ * durations recorded in the Allure results of previous runs (-Dshard.history.dir, default shard-history), and only
+ * shard i is kept. Every shard must read the same results, e.g. the merged results of the last run downloaded by
+ * each CI agent; without them, all shards fall back to the same count-balanced plan.
+ * Without shard.total, or with a single shard, all methods run.
+ */
+public class ShardingInterceptor implements IMethodInterceptor {
+
+    // Number of shards the suite is split into
+    private static final int TOTAL = TestConfig.getInt("shard.total", 1);
+
+    // Shard run by this JVM (0-based)
+    private static final int INDEX = TestConfig.getInt("shard.index", 0);
+
+    // Allure results of previous runs providing the test durations, shared by all shards and kept outside target/
+    private static final Path HISTORY_DIR = Paths.get(TestConfig.get("shard.history.dir", "shard-history"));
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (TOTAL <= 1) {
+            return methods;
+        }
+        if (INDEX < 0 || INDEX >= TOTAL) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (TOTAL - 1) + ", got " + INDEX);
+        }
+
+        Set<String> tests = methods.stream().map(ShardingInterceptor::testName).collect(Collectors.toCollection(HashSet::new));
+        Map<String, Long> durations = ShardPlanner.readDurations(HISTORY_DIR);
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(tests, durations, TOTAL);
+        for (ShardPlanner.Shard shard : shards) {
+            System.out.println(String.format("Shard %d/%d: %d tests, estimated %.1f s%s", shard.getIndex(), TOTAL,
+                    shard.getTests().size(), shard.getEstimatedMillis() / 1000.0, shard.getIndex() == INDEX ? " (this JVM)" : ""));
+        }
+        if (durations.isEmpty()) {
+            System.out.println("No test durations found in " + HISTORY_DIR.toAbsolutePath() + ", shards are balanced by test count");
+        }
+
+        Set<String> assigned = new HashSet<>(shards.get(INDEX).getTests());
+        return methods.stream()
+                .filter(method -> assigned.contains(testName(method)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Builds the test name used in Allure results and the run history (fully qualified class name and method name).
+     */
+    static String testName(IMethodInstance method) {
+        return method.getMethod().getQualifiedName();
+    }
+}
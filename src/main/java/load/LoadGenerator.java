@@ -0,0 +1,261 @@
+package load;
+
+import config.DriverPool;
+import config.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.LoginPage;
+import pages.ProductPage;
+import server.LocalSauceDemoServer;
+import utils.EnvLoader;
+import utils.WaitEngine;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Load generator driving concurrent browser sessions through the page-object purchase flow:
+ * login, add all products, cart, checkout information and finish. Each virtual user repeats the flow in its own
+ * browser until the test duration is over; users start spread over the ramp-up period and pause for the think time
+ * between steps. Every page-object call is timed as a step, including the wait for the page it navigates to.
+ * <p>
+ * At the end, throughput and p50/p95/p99 latency per step are printed and written to target/load-report.txt.
+ * Runs against the embedded stand-in (-Dlocal.server=true) or any deployment of the application (-Dbase.url).
+ */
+public class LoadGenerator {
+
+    // Number of concurrent virtual users, one browser each
+    private static final int USERS = TestConfig.getInt("load.users", 4);
+
+    // Period over which the virtual users are started
+    private static final int RAMP_UP_SECONDS = TestConfig.getInt("load.ramp.seconds", 10);
+
+    // Time from the start of the first user until no new flow is started
+    private static final int DURATION_SECONDS = TestConfig.getInt("load.duration.seconds", 60);
+
+    // Pause between two steps of a virtual user, excluded from the step latency
+    private static final int THINK_MILLIS = TestConfig.getInt("load.think.ms", 1000);
+
+    // Report written at the end of the run
+    private static final Path REPORT_FILE = Paths.get(TestConfig.get("load.report", "target/load-report.txt"));
+
+    // Latencies per step, in the order the steps first ran
+    private static final Map<String, StepStats> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    // Completed and failed purchase flows
+    private static final AtomicLong completedFlows = new AtomicLong();
+    private static final AtomicLong failedFlows = new AtomicLong();
+
+    /**
+     * Runs the load test and writes the report.
+     *
+     * @param args Not used; the load profile is read from the load.* settings.
+     * @throws IOException          If the report cannot be written.
+     * @throws InterruptedException If interrupted while waiting for the virtual users.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        LocalSauceDemoServer.startIfEnabled();
+        if (USERS > DriverPool.getMaxSize()) {
+            throw new IllegalArgumentException(String.format(
+                    "load.users (%d) exceeds driver.pool.size (%d); raise -Ddriver.pool.size", USERS, DriverPool.getMaxSize()));
+        }
+        String baseUrl = TestConfig.getBaseUrl();
+        boolean localServer = TestConfig.getBoolean("local.server", false);
+        String username = localServer ? "standard_user" : EnvLoader.getEnv("VALID_USERNAME");
+        String password = localServer ? "secret_sauce" : EnvLoader.getEnv("VALID_PASSWORD");
+
+        System.out.println(String.format("Load test: %d users, %d s ramp-up, %d s duration, %d ms think time against %s",
+                USERS, RAMP_UP_SECONDS, DURATION_SECONDS, THINK_MILLIS, baseUrl));
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        ExecutorService users = Executors.newFixedThreadPool(USERS, runnable -> {
+            Thread thread = new Thread(runnable, "load-user");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < USERS; i++) {
+            long startDelay = TimeUnit.SECONDS.toNanos(RAMP_UP_SECONDS) * i / USERS;
+            users.execute(() -> runUser(baseUrl, username, password, start + startDelay, end));
+        }
+        users.shutdown();
+        if (!users.awaitTermination(DURATION_SECONDS + RAMP_UP_SECONDS + 600L, TimeUnit.SECONDS)) {
+            // Interrupt virtual users stuck in a step so their threads cannot keep the JVM alive
+            users.shutdownNow();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        try {
+            String report = formatReport(elapsedSeconds);
+            Files.createDirectories(REPORT_FILE.toAbsolutePath().getParent());
+            Files.writeString(REPORT_FILE, report, StandardCharsets.UTF_8);
+            System.out.println(report);
+            System.out.println("Load report written to " + REPORT_FILE.toAbsolutePath());
+        } finally {
+            // Quit the remaining browsers and stop the pool's executors instead of relying on JVM exit
+            DriverPool.shutdown();
+        }
+    }
+
+    /**
+     * Repeats the purchase flow of one virtual user in its own browser until the end of the test.
+     */
+    private static void runUser(String baseUrl, String username, String password, long startAt, long endAt) {
+        sleepNanos(startAt - System.nanoTime());
+        WebDriver driver = DriverPool.borrow();
+        try {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            while (System.nanoTime() < endAt) {
+                try {
+                    runFlow(driver, baseUrl, username, password);
+                    completedFlows.incrementAndGet();
+                } catch (Exception e) {
+                    failedFlows.incrementAndGet();
+                    // The report counts the failures per step; keep the details off the report's stdout
+                    System.err.println("Purchase flow failed: " + e.getMessage());
+                }
+            }
+        } finally {
+            DriverPool.discard(driver);
+        }
+    }
+
+    /**
+     * Runs the purchase flow once, starting logged out with an empty cart.
+     */
+    private static void runFlow(WebDriver driver, String baseUrl, String username, String password) {
+        driver.manage().deleteAllCookies();
+        driver.get(baseUrl);
+        ((JavascriptExecutor) driver).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+        LoginPage loginPage = new LoginPage(driver);
+
+        ProductPage productPage = step("LoginPage.login", () -> {
+            loginPage.login(username, password);
+            WaitEngine.waitForUrlContains(driver, "inventory.html");
+            return new ProductPage(driver);
+        });
+        step("ProductPage.clickAllAddToCartButtons", () -> {
+            productPage.clickAllAddToCartButtons();
+            return null;
+        });
+        CartPage cartPage = step("ProductPage.clickShoppingCartContainer", () -> {
+            productPage.clickShoppingCartContainer();
+            WaitEngine.waitForUrlContains(driver, "cart.html");
+            return new CartPage(driver);
+        });
+        CheckoutPage checkoutPage = step("CartPage.clickCheckoutButton", () -> {
+            cartPage.clickCheckoutButton();
+            WaitEngine.waitForUrlContains(driver, "checkout-step-one.html");
+            return new CheckoutPage(driver);
+        });
+        step("CheckoutPage.fillCheckoutInformation", () -> {
+            checkoutPage.fillCheckoutInformation("John", "Doe", "12345");
+            WaitEngine.waitForUrlContains(driver, "checkout-step-two.html");
+            return null;
+        });
+        step("CheckoutPage.clickFinish", () -> {
+            checkoutPage.clickFinish();
+            WaitEngine.waitForUrlContains(driver, "checkout-complete.html");
+            return null;
+        });
+    }
+
+    /**
+     * Times one step of the flow, counts it as failed if it throws, then pauses for the think time.
+     */
+    private static <T> T step(String name, Supplier<T> action) {
+        StepStats stats = steps.computeIfAbsent(name, key -> new StepStats());
+        long started = System.nanoTime();
+        try {
+            T result = action.get();
+            stats.record(System.nanoTime() - started);
+            return result;
+        } catch (RuntimeException e) {
+            stats.errors.incrementAndGet();
+            throw e;
+        } finally {
+            sleepNanos(TimeUnit.MILLISECONDS.toNanos(THINK_MILLIS));
+        }
+    }
+
+    /**
+     * Formats the flow throughput and the latency percentiles of every step.
+     */
+    private static String formatReport(double elapsedSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Load test of %d users over %.1f s: %d flows completed (%.2f/min), %d failed%n%n",
+                USERS, elapsedSeconds, completedFlows.get(), completedFlows.get() * 60 / elapsedSeconds, failedFlows.get()));
+        report.append(String.format("%-40s %8s %8s %10s %10s %10s %10s %10s%n",
+                "step", "count", "errors", "per sec", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        synchronized (steps) {
+            steps.forEach((name, stats) -> {
+                List<Long> latencies = stats.sortedLatencies();
+                if (latencies.isEmpty()) {
+                    report.append(String.format("%-40s %8d %8d%n", name, 0, stats.errors.get()));
+                    return;
+                }
+                report.append(String.format("%-40s %8d %8d %10.2f %10.1f %10.1f %10.1f %10.1f%n", name,
+                        latencies.size(), stats.errors.get(), latencies.size() / elapsedSeconds,
+                        percentile(latencies, 50) / 1e6, percentile(latencies, 95) / 1e6, percentile(latencies, 99) / 1e6,
+                        latencies.get(latencies.size() - 1) / 1e6));
+            });
+        }
+        return report.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static long percentile(List<Long> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    /**
+     * Sleeps for the given time, if positive.
+     */
+    private static void sleepNanos(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while pausing a virtual user", e);
+        }
+    }
+
+    /**
+     * Successful latencies and error count of one step.
+     */
+    private static class StepStats {
+        private final List<Long> latencies = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void record(long nanos) {
+            latencies.add(nanos);
+        }
+
+        synchronized List<Long> sortedLatencies() {
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return sorted;
+        }
+    }
+}
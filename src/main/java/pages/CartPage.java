@@ -3,10 +3,11 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.BulkActions;
+import utils.PageReadiness;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
 
-import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -16,40 +17,46 @@ import java.util.stream.Collectors;
  */
 public class CartPage {
     private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators
+    private By cartList = By.cssSelector(".cart_list");
     private By cartProductNames = By.cssSelector(".inventory_item_name");
     private By continueShoppingButton = By.id("continue-shopping");
-    private By removeButtons = By.xpath("//button[text()='Remove']");
+    private By removeButtons = By.cssSelector("button[data-test^='remove']");
     private By checkoutButton = By.id("checkout");
+    private By shoppingCartBadge = By.cssSelector(".shopping_cart_badge");
 
     /**
-     * Constructor to initialize the CartPage with WebDriver and explicit wait.
+     * Constructor to initialize the CartPage with WebDriver.
+     * Under an EAGER or NONE page-load strategy it waits until the page is usable.
      */
     public CartPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        PageReadiness.await(driver, cartList);
     }
 
     /**
      * Clicks the "Continue Shopping" button.
      */
     public void clickContinueShopping() {
-        driver.findElement(continueShoppingButton).click();
+        WaitEngine.waitForVisible(driver, continueShoppingButton).click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "ProductPage", "inventory.html");
     }
 
     /**
      * Checks if the cart is empty by verifying no product names are present.
+     * Returns as soon as the cart page has settled instead of waiting for a timeout.
      */
     public boolean isCartEmpty() {
-        return driver.findElements(cartProductNames).isEmpty();
+        WaitEngine.waitForPresent(driver, cartList);
+        return WaitEngine.isAbsent(driver, cartProductNames);
     }
 
     /**
      * Retrieves a list of product names currently present in the cart.
      */
     public List<String> getCartProductNames() {
+        WaitEngine.waitForPresent(driver, cartList);
         return driver.findElements(cartProductNames).stream()
                 .map(element -> element.getText())
                 .collect(Collectors.toList());
@@ -57,9 +64,16 @@ public class CartPage {
 
     /**
      * Clicks all "Remove" buttons to remove all products from the cart.
+     * In bulk script mode all buttons are clicked in one round trip, which returns once the cart badge has settled.
      */
     public void clickAllRemoveButtons() {
-        List<WebElement> removeButtonsList = wait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(removeButtons));
+        if (BulkActions.isScriptMode()) {
+            BulkActions.clickAll(driver, removeButtons, shoppingCartBadge, -1);
+            return;
+        }
+        // Like the bulk script, clicks nothing when the cart is empty
+        WaitEngine.awaitDomSettled(driver);
+        List<WebElement> removeButtonsList = driver.findElements(removeButtons);
         for (WebElement button : removeButtonsList) {
             button.click();
         }
@@ -69,7 +83,8 @@ public class CartPage {
      * Clicks the "Checkout" button to proceed to the checkout process.
      */
     public void clickCheckoutButton() {
-        WebElement checkout = wait.until(ExpectedConditions.visibilityOfElementLocated(checkoutButton));
+        WebElement checkout = WaitEngine.waitForVisible(driver, checkoutButton);
         checkout.click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "CheckoutPage", "checkout-step-one.html");
     }
 }
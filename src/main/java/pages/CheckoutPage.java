@@ -3,10 +3,13 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.FormPipeline;
+import utils.PageReadiness;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the Checkout page and provides methods to interact with
@@ -14,7 +17,6 @@ import java.time.Duration;
  */
 public class CheckoutPage {
     private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators
     private By firstNameInput = By.id("first-name");
@@ -25,20 +27,23 @@ public class CheckoutPage {
     private By backToProductsButton = By.id("back-to-products");
     private By itemTotalLabel = By.cssSelector("div.summary_subtotal_label");
     private By ponyExpressLogo = By.cssSelector("img[data-test='pony-express']");
+    private By errorMessage = By.cssSelector("h3[data-test='error']");
+    private By pageTitle = By.cssSelector("span[data-test='title']");
 
     /**
-     * Constructor to initialize the CheckoutPage with WebDriver and explicit wait.
+     * Constructor to initialize the CheckoutPage with WebDriver.
+     * Under an EAGER or NONE page-load strategy it waits until the page is usable.
      */
     public CheckoutPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        PageReadiness.await(driver, continueButton);
     }
 
     /**
      * Enters the first name in the checkout form.
      */
     public void enterFirstName(String firstName) {
-        WebElement firstNameField = wait.until(ExpectedConditions.visibilityOfElementLocated(firstNameInput));
+        WebElement firstNameField = WaitEngine.waitForVisible(driver, firstNameInput);
         firstNameField.sendKeys(firstName);
     }
 
@@ -46,7 +51,7 @@ public class CheckoutPage {
      * Enters the last name in the checkout form.
      */
     public void enterLastName(String lastName) {
-        WebElement lastNameField = wait.until(ExpectedConditions.visibilityOfElementLocated(lastNameInput));
+        WebElement lastNameField = WaitEngine.waitForVisible(driver, lastNameInput);
         lastNameField.sendKeys(lastName);
     }
 
@@ -54,48 +59,63 @@ public class CheckoutPage {
      * Enters the postal code in the checkout form.
      */
     public void enterPostalCode(String postalCode) {
-        WebElement postalCodeField = wait.until(ExpectedConditions.visibilityOfElementLocated(postalCodeInput));
+        WebElement postalCodeField = WaitEngine.waitForVisible(driver, postalCodeInput);
         postalCodeField.sendKeys(postalCode);
     }
 
+    /**
+     * Fills the checkout information form and clicks "Continue" in a single round trip.
+     * Empty values leave the corresponding field blank.
+     */
+    public void fillCheckoutInformation(String firstName, String lastName, String postalCode) {
+        Map<By, String> information = new LinkedHashMap<>();
+        information.put(firstNameInput, firstName);
+        information.put(lastNameInput, lastName);
+        information.put(postalCodeInput, postalCode);
+        FormPipeline.fillAndSubmit(driver, information, continueButton);
+        PerformanceMonitor.sampleAfterNavigation(driver, "CheckoutOverviewPage", "checkout-step-two.html");
+    }
+
     /**
      * Clicks the "Continue" button to proceed in the checkout process.
      */
     public void clickContinue() {
-        WebElement continueBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(continueButton));
+        WebElement continueBtn = WaitEngine.waitForVisible(driver, continueButton);
         continueBtn.click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "CheckoutOverviewPage", "checkout-step-two.html");
     }
 
     /**
      * Clicks the "Finish" button to complete the checkout process.
      */
     public void clickFinish() {
-        WebElement finishBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(finishButton));
+        WebElement finishBtn = WaitEngine.waitForVisible(driver, finishButton);
         finishBtn.click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "CheckoutCompletePage", "checkout-complete.html");
     }
 
     /**
      * Clicks the "Back to Products" button to return to the inventory page.
      */
     public void clickBackToProducts() {
-        WebElement backToProductsBtn = wait.until(ExpectedConditions.visibilityOfElementLocated(backToProductsButton));
+        WebElement backToProductsBtn = WaitEngine.waitForVisible(driver, backToProductsButton);
         backToProductsBtn.click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "ProductPage", "inventory.html");
     }
 
     /**
      * Verifies if a specific error message is visible.
      */
     public boolean isErrorMessageVisible(String errorMessageText) {
-        By dynamicErrorMessageLocator = By.xpath(String.format("//*[text()='%s']", errorMessageText));
-        WebElement errorElement = wait.until(ExpectedConditions.visibilityOfElementLocated(dynamicErrorMessageLocator));
-        return errorElement.isDisplayed();
+        WaitEngine.waitForVisible(driver, errorMessage);
+        return WaitEngine.waitForText(driver, errorMessage, errorMessageText);
     }
 
     /**
      * Retrieves the item total text displayed on the checkout page.
      */
     public String getItemTotalText() {
-        WebElement itemTotalElement = wait.until(ExpectedConditions.visibilityOfElementLocated(itemTotalLabel));
+        WebElement itemTotalElement = WaitEngine.waitForVisible(driver, itemTotalLabel);
         return itemTotalElement.getText();
     }
 
@@ -103,24 +123,24 @@ public class CheckoutPage {
      * Verifies if the Pony Express logo is visible on the page.
      */
     public boolean isPonyExpressLogoVisible() {
-        try {
-            WebElement logoElement = wait.until(ExpectedConditions.visibilityOfElementLocated(ponyExpressLogo));
-            return logoElement.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return WaitEngine.isVisible(driver, ponyExpressLogo);
     }
 
     /**
      * Verifies if an element with the specified text is visible on the page.
+     *
+     * @deprecated Scans the whole document; use {@link #isTitleVisible(String)} for the page title.
      */
+    @Deprecated
     public boolean isElementVisibleByText(String elementText) {
         By dynamicTextLocator = By.xpath(String.format("//*[text()='%s']", elementText));
-        try {
-            WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(dynamicTextLocator));
-            return element.isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return WaitEngine.isVisible(driver, dynamicTextLocator);
+    }
+
+    /**
+     * Verifies if the page title is visible and shows the specified text, e.g. "Checkout: Complete!".
+     */
+    public boolean isTitleVisible(String titleText) {
+        return WaitEngine.isVisible(driver, pageTitle) && WaitEngine.waitForText(driver, pageTitle, titleText);
     }
 }
@@ -3,10 +3,13 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import utils.FormPipeline;
+import utils.PageReadiness;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
 
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the Login page and provides methods to interact with
@@ -14,7 +17,6 @@ import java.time.Duration;
  */
 public class LoginPage {
     private WebDriver driver;
-    private WebDriverWait wait;
 
     // Locators for login elements
     private By usernameField = By.id("user-name");
@@ -22,20 +24,25 @@ public class LoginPage {
     private By loginButton = By.id("login-button");
     private By burgerMenuButton = By.id("react-burger-menu-btn");
     private By logoutButton = By.id("logout_sidebar_link");
+    private By errorMessage = By.cssSelector("h3[data-test='error']");
+
+    // Key element: the login form, or the navigation menu when used to log out
+    private By readyIndicator = By.cssSelector("#login-button, #react-burger-menu-btn");
 
     /**
-     * Constructor to initialize the LoginPage with WebDriver and explicit wait.
+     * Constructor to initialize the LoginPage with WebDriver.
+     * Under an EAGER or NONE page-load strategy it waits until the page is usable.
      */
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        PageReadiness.await(driver, readyIndicator);
     }
 
     /**
      * Waits for the visibility of a specified element and returns it.
      */
     private WebElement waitForElement(By locator) {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+        return WaitEngine.waitForVisible(driver, locator);
     }
 
     /**
@@ -79,20 +86,37 @@ public class LoginPage {
     }
 
     /**
-     * Performs the login action by entering credentials and clicking the login button.
+     * Performs the login action by typing the credentials and clicking the login button, field by field.
      */
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
-        clickLoginButton();
+        FormPipeline.fillFieldByField(driver, credentials(username, password), loginButton);
+        PerformanceMonitor.sampleAfterNavigation(driver, "ProductPage", "inventory.html");
+    }
+
+    /**
+     * Logs in by filling and submitting the form in a single round trip through {@link FormPipeline}.
+     * Intended for setup paths that need a session rather than for tests of the login form itself.
+     */
+    public void loginWithPipeline(String username, String password) {
+        FormPipeline.fillAndSubmit(driver, credentials(username, password), loginButton);
+        PerformanceMonitor.sampleAfterNavigation(driver, "ProductPage", "inventory.html");
+    }
+
+    /**
+     * Maps the credential fields to their values, in form order.
+     */
+    private Map<By, String> credentials(String username, String password) {
+        Map<By, String> credentials = new LinkedHashMap<>();
+        credentials.put(usernameField, username);
+        credentials.put(passwordField, password);
+        return credentials;
     }
 
     /**
      * Checks if a specific error message is visible on the login page.
      */
     public boolean isErrorMessageVisible(String errorMessageText) {
-        By dynamicErrorMessageLocator = By.xpath(String.format("//*[text()='%s']", errorMessageText));
-        WebElement errorElement = waitForElement(dynamicErrorMessageLocator);
-        return errorElement.isDisplayed();
+        waitForElement(errorMessage);
+        return WaitEngine.waitForText(driver, errorMessage, errorMessageText);
     }
 }
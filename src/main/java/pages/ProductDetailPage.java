@@ -3,6 +3,8 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import utils.PageReadiness;
+import utils.WaitEngine;
 
 /**
  * Represents the Product Detail page and provides methods to interact with its elements.
@@ -15,16 +17,18 @@ public class ProductDetailPage {
 
     /**
      * Constructor to initialize the ProductDetailPage with WebDriver.
+     * Under an EAGER or NONE page-load strategy it waits until the page is usable.
      */
     public ProductDetailPage(WebDriver driver) {
         this.driver = driver;
+        PageReadiness.await(driver, productTitle);
     }
 
     /**
      * Retrieves the product title displayed on the detail page.
      */
     public String getProductTitle() {
-        WebElement titleElement = driver.findElement(productTitle);
+        WebElement titleElement = WaitEngine.waitForVisible(driver, productTitle);
         return titleElement.getText();
     }
 }
@@ -2,12 +2,19 @@ package pages;
 
 import models.Product;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
+import utils.BulkActions;
+import utils.CssSelectors;
+import utils.PageReadiness;
+import utils.PerformanceMonitor;
+import utils.WaitEngine;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents the Product Page and provides methods to interact with its elements.
@@ -16,26 +23,53 @@ public class ProductPage {
     private WebDriver driver;
 
     // Locators
-    private By addToCartButtons = By.xpath("//button[text()='Add to cart']");
-    private By removeButtons = By.xpath("//button[text()='Remove']");
+    private By addToCartButtons = By.cssSelector("button[data-test^='add-to-cart']");
+    private By removeButtons = By.cssSelector("button[data-test^='remove']");
     private By shoppingCartBadge = By.cssSelector(".shopping_cart_badge");
-    private By shoppingCartContainer = By.xpath("//div[@id='shopping_cart_container']");
+    private By shoppingCartLink = By.cssSelector("a.shopping_cart_link");
+    private By productItems = By.cssSelector(".inventory_item");
     private By productNames = By.cssSelector(".inventory_item_name");
     private By productPrices = By.cssSelector(".inventory_item_price");
-    private By productImages = By.xpath("//img[contains(@data-test, 'inventory-item')]");
+    private By productImages = By.cssSelector("img[data-test*='inventory-item']");
     private By productSortDropdown = By.cssSelector(".product_sort_container");
 
+    // Reads name, price and image data-test of every inventory item in one round trip.
+    // Arguments: item, name, price and image selectors; each product is read from within its own item.
+    private static final String PRODUCTS_SCRIPT =
+            "var items = document.querySelectorAll(arguments[0]);" +
+            "var rows = [];" +
+            "for (var i = 0; i < items.length; i++) {" +
+            "  var name = items[i].querySelector(arguments[1]);" +
+            "  var price = items[i].querySelector(arguments[2]);" +
+            "  var image = items[i].querySelector(arguments[3]);" +
+            "  rows.push({" +
+            "    name: name ? name.innerText.trim() : null," +
+            "    price: price ? price.innerText.trim() : null," +
+            "    imageDataTest: image ? image.getAttribute('data-test') : null" +
+            "  });" +
+            "}" +
+            "return rows;";
+
     /**
      * Constructor to initialize the ProductPage with WebDriver.
+     * Under an EAGER or NONE page-load strategy it waits until the page is usable.
      */
     public ProductPage(WebDriver driver) {
         this.driver = driver;
+        PageReadiness.await(driver, productSortDropdown);
     }
 
     /**
      * Clicks all "Add to Cart" buttons on the page.
+     * In bulk script mode all buttons are clicked in one round trip, which returns once the cart badge has settled.
      */
     public void clickAllAddToCartButtons() {
+        if (BulkActions.isScriptMode()) {
+            BulkActions.clickAll(driver, addToCartButtons, shoppingCartBadge, 1);
+            return;
+        }
+        // Like the bulk script, clicks nothing when every product is already in the cart
+        WaitEngine.awaitDomSettled(driver);
         List<WebElement> buttons = driver.findElements(addToCartButtons);
         for (WebElement button : buttons) {
             button.click();
@@ -44,8 +78,15 @@ public class ProductPage {
 
     /**
      * Clicks all "Remove" buttons on the page.
+     * In bulk script mode all buttons are clicked in one round trip, which returns once the cart badge has settled.
      */
     public void clickAllRemoveButtons() {
+        if (BulkActions.isScriptMode()) {
+            BulkActions.clickAll(driver, removeButtons, shoppingCartBadge, -1);
+            return;
+        }
+        // Like the bulk script, clicks nothing when the cart is empty
+        WaitEngine.awaitDomSettled(driver);
         List<WebElement> buttons = driver.findElements(removeButtons);
         for (WebElement button : buttons) {
             button.click();
@@ -53,51 +94,49 @@ public class ProductPage {
     }
 
     /**
-     * Verifies if "Remove" buttons are absent.
+     * Verifies if "Remove" buttons are absent, without waiting for a timeout.
      */
     public boolean isRemoveButtonAbsent() {
-        return driver.findElements(removeButtons).isEmpty();
+        return WaitEngine.isAbsent(driver, removeButtons);
     }
 
     /**
-     * Verifies if the shopping cart badge is visible.
+     * Verifies if the shopping cart badge is visible, without waiting for a timeout.
+     * Checks the badge once the page has settled, so a missing badge is reported immediately.
      */
     public boolean isShoppingCartBadgeVisible() {
-        return !driver.findElements(shoppingCartBadge).isEmpty();
+        WaitEngine.awaitDomSettled(driver);
+        return driver.findElements(shoppingCartBadge).stream().anyMatch(WebElement::isDisplayed);
     }
 
     /**
-     * Verifies if the shopping cart badge is absent.
+     * Verifies if the shopping cart badge is absent, without waiting for a timeout.
      */
     public boolean isShoppingCartBadgeAbsent() {
-        return driver.findElements(shoppingCartBadge).isEmpty();
+        return WaitEngine.isAbsent(driver, shoppingCartBadge);
     }
 
     /**
-     * Clicks the shopping cart container to navigate to the cart.
+     * Clicks the shopping cart link in the header to navigate to the cart.
      */
     public void clickShoppingCartContainer() {
-        driver.findElement(shoppingCartContainer).click();
+        WaitEngine.waitForVisible(driver, shoppingCartLink).click();
+        PerformanceMonitor.sampleAfterNavigation(driver, "CartPage", "cart.html");
     }
 
     /**
      * Retrieves a list of products with their names, prices, and image data-test attributes.
+     * All values are read in a single script execution instead of one WebDriver call per element.
      */
+    @SuppressWarnings("unchecked")
     public List<Product> getProducts() {
-        List<WebElement> nameElements = driver.findElements(productNames);
-        List<WebElement> priceElements = driver.findElements(productPrices);
-        List<WebElement> imageElements = driver.findElements(productImages);
+        WaitEngine.waitForPresent(driver, productNames);
+        List<Map<String, String>> rows = (List<Map<String, String>>) ((JavascriptExecutor) driver).executeScript(PRODUCTS_SCRIPT,
+                CssSelectors.of(productItems), CssSelectors.of(productNames), CssSelectors.of(productPrices), CssSelectors.of(productImages));
 
-        List<Product> products = new ArrayList<>();
-        for (int i = 0; i < nameElements.size(); i++) {
-            String name = nameElements.get(i).getText();
-            String price = priceElements.get(i).getText();
-            String imageDataTest = imageElements.get(i).getAttribute("data-test");
-
-            // Debugging log to verify the data-test attribute value
-            System.out.println("Product: " + name + ", Price: " + price + ", Image Data-Test: " + imageDataTest);
-
-            products.add(new Product(name, price, imageDataTest));
+        List<Product> products = new ArrayList<>(rows.size());
+        for (Map<String, String> row : rows) {
+            products.add(new Product(row.get("name"), row.get("price"), row.get("imageDataTest")));
         }
         return products;
     }
@@ -106,7 +145,7 @@ public class ProductPage {
      * Sorts the products on the page based on the specified sort option.
      */
     public void sortProducts(String sortOption) {
-        WebElement dropdownElement = driver.findElement(productSortDropdown);
+        WebElement dropdownElement = WaitEngine.waitForVisible(driver, productSortDropdown);
         Select dropdown = new Select(dropdownElement);
         dropdown.selectByValue(sortOption);
     }
@@ -115,10 +154,11 @@ public class ProductPage {
      * Clicks on a product name to navigate to its detail page.
      */
     public void clickProductName(String productName) {
-        List<WebElement> productElements = driver.findElements(productNames);
+        List<WebElement> productElements = WaitEngine.waitForAllVisible(driver, productNames);
         for (WebElement product : productElements) {
             if (product.getText().equals(productName)) {
                 product.click();
+                PerformanceMonitor.sampleAfterNavigation(driver, "ProductDetailPage", "inventory-item.html");
                 break;
             }
         }
@@ -128,10 +168,7 @@ public class ProductPage {
      * Clicks on a product image to navigate to its detail page based on its data-test attribute.
      */
     public void clickProductImage(String imageDataTest) {
-        List<WebElement> imageElements = driver.findElements(productImages);
-
-        // Log the number of elements found for debugging
-        System.out.println("Number of product images found: " + imageElements.size());
+        List<WebElement> imageElements = WaitEngine.waitForAllVisible(driver, productImages);
 
         // Ensure the list is not empty
         if (imageElements.isEmpty()) {
@@ -140,9 +177,9 @@ public class ProductPage {
 
         for (WebElement image : imageElements) {
             String dataTest = image.getAttribute("data-test");
-            System.out.println("Found image with data-test: " + dataTest); // Debugging log
             if (dataTest.equals(imageDataTest)) {
                 image.click();
+                PerformanceMonitor.sampleAfterNavigation(driver, "ProductDetailPage", "inventory-item.html");
                 return;
             }
         }
@@ -0,0 +1,179 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.TestConfig;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Embedded HTTP server serving a functional replica of the SauceDemo application.
+ * It covers the login, inventory, item detail, cart and checkout pages with the same
+ * ids, texts, session cookie and localStorage cart as the public site, so the test suite
+ * can run hermetically against localhost (enable with -Dlocal.server=true).
+ */
+public class LocalSauceDemoServer {
+
+    // Classpath folder holding the replica's HTML shell, script and stylesheet
+    private static final String RESOURCE_ROOT = "/saucedemo/";
+
+    // Application routes that render the single-page shell
+    private static final Set<String> PAGE_ROUTES = Set.of(
+            "/", "/index.html", "/inventory.html", "/inventory-item.html", "/cart.html",
+            "/checkout-step-one.html", "/checkout-step-two.html", "/checkout-complete.html");
+
+    // Setting through which the running server publishes its base URL to TestConfig.getBaseUrl()
+    private static final String URL_PROPERTY = "local.server.url";
+
+    // Singleton server instance, started on first use
+    private static HttpServer server;
+
+    // Base URL of the running server, e.g. http://127.0.0.1:51234/
+    private static String baseUrl;
+
+    /**
+     * Starts the server when the run is configured for it (-Dlocal.server=true).
+     * Called once at the start of a run, before the first use of the base URL.
+     */
+    public static void startIfEnabled() {
+        if (TestConfig.getBoolean("local.server", false)) {
+            start();
+        }
+    }
+
+    /**
+     * Starts the server if it is not running yet and returns its base URL.
+     * The URL is published as the local.server.url system property for {@link TestConfig#getBaseUrl()}.
+     * The port is taken from -Dlocal.server.port (0 picks a free port).
+     *
+     * @return The base URL of the local server, ending with a slash.
+     */
+    public static synchronized String start() {
+        if (server != null) {
+            return baseUrl;
+        }
+        // The HTTP dispatcher thread inherits the daemon flag of the thread creating the server,
+        // so create it from a daemon thread to keep it from holding the JVM open after the run
+        FutureTask<HttpServer> creation = new FutureTask<>(LocalSauceDemoServer::create);
+        Thread creator = new Thread(creation, "local-saucedemo-starter");
+        creator.setDaemon(true);
+        creator.start();
+        try {
+            server = creation.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting the local SauceDemo server", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not start the local SauceDemo server", e.getCause());
+        }
+
+        baseUrl = "http://" + server.getAddress().getAddress().getHostAddress() + ":" + server.getAddress().getPort() + "/";
+        System.setProperty(URL_PROPERTY, baseUrl);
+        Runtime.getRuntime().addShutdownHook(new Thread(LocalSauceDemoServer::stop, "local-saucedemo-shutdown"));
+        System.out.println("Local SauceDemo server started at " + baseUrl);
+        return baseUrl;
+    }
+
+    /**
+     * Creates and starts the HTTP server on the loopback interface.
+     */
+    private static HttpServer create() throws IOException {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(loopback, TestConfig.getInt("local.server.port", 0)), 0);
+        httpServer.createContext("/", LocalSauceDemoServer::handle);
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "local-saucedemo");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        return httpServer;
+    }
+
+    /**
+     * Stops the server if it is running.
+     */
+    public static synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            baseUrl = null;
+            System.clearProperty(URL_PROPERTY);
+        }
+    }
+
+    /**
+     * Routes a request to the page shell, a static asset or a 404 response.
+     */
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (PAGE_ROUTES.contains(path)) {
+                sendResource(exchange, "index.html", "text/html; charset=utf-8", "no-cache");
+            } else if (path.equals("/static/js/app.js")) {
+                sendResource(exchange, "app.js", "application/javascript; charset=utf-8", "max-age=3600");
+            } else if (path.equals("/static/css/app.css")) {
+                sendResource(exchange, "app.css", "text/css; charset=utf-8", "max-age=3600");
+            } else if (path.startsWith("/static/media/") && path.endsWith(".svg")) {
+                String name = path.substring("/static/media/".length(), path.length() - ".svg".length());
+                send(exchange, 200, "image/svg+xml", "max-age=3600", productImage(name).getBytes(StandardCharsets.UTF_8));
+            } else {
+                send(exchange, 404, "text/plain; charset=utf-8", "no-cache", "Not Found".getBytes(StandardCharsets.UTF_8));
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Sends a classpath resource from the replica folder.
+     */
+    private static void sendResource(HttpExchange exchange, String name, String contentType, String cacheControl) throws IOException {
+        try (InputStream stream = LocalSauceDemoServer.class.getResourceAsStream(RESOURCE_ROOT + name)) {
+            if (stream == null) {
+                send(exchange, 500, "text/plain; charset=utf-8", "no-cache",
+                        ("Missing resource " + name).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            send(exchange, 200, contentType, cacheControl, stream.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes a complete response.
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, String cacheControl, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", cacheControl);
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    /**
+     * Generates a placeholder product image whose colour is derived from the image name.
+     */
+    private static String productImage(String name) {
+        String color = String.format("#%06x", name.hashCode() & 0xFFFFFF);
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"240\" height=\"240\" viewBox=\"0 0 240 240\">"
+                + "<rect width=\"240\" height=\"240\" fill=\"" + color + "\"/>"
+                + "<text x=\"120\" y=\"125\" font-size=\"14\" text-anchor=\"middle\" fill=\"#fff\">"
+                + name.replace("&", "&amp;").replace("<", "&lt;") + "</text></svg>";
+    }
+}
@@ -0,0 +1,110 @@
+package tools.profiling;
+
+import config.DriverPool;
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import pages.CartPage;
+import pages.CheckoutPage;
+import pages.LoginPage;
+import pages.ProductDetailPage;
+import pages.ProductPage;
+import server.LocalSauceDemoServer;
+import utils.EnvLoader;
+import utils.LocatorProfiler;
+import utils.WaitEngine;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Profiles every By field of the page objects by walking through the application once and resolving each
+ * locator repeatedly on its page. The ranked report, with CSS proposals for XPath locators, is the one
+ * {@link LocatorProfiler} writes for the suite.
+ */
+public class PageObjectProfiler {
+
+    // Number of resolutions per locator when profiling page objects
+    private static final int PROFILE_RUNS = TestConfig.getInt("locator.profile.runs", 20);
+
+    /**
+     * Resolves every By field declared by a page object on the current page and measures it.
+     *
+     * @param driver The WebDriver instance, already on the page the object represents.
+     * @param page   The page object whose locators are profiled.
+     * @param runs   The number of resolutions per locator.
+     * @return One measurement per locator field.
+     */
+    public static List<LocatorProfiler.LocatorTiming> profile(WebDriver driver, Object page, int runs) {
+        List<LocatorProfiler.LocatorTiming> timings = new ArrayList<>();
+        for (Field field : page.getClass().getDeclaredFields()) {
+            if (field.getType() != By.class) {
+                continue;
+            }
+            By locator;
+            try {
+                field.setAccessible(true);
+                locator = (By) field.get(page);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot read locator " + field.getName(), e);
+            }
+            int matches = 0;
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                matches = driver.findElements(locator).size();
+            }
+            long elapsed = System.nanoTime() - start;
+            String name = page.getClass().getSimpleName() + "." + field.getName();
+            timings.add(new LocatorProfiler.LocatorTiming(name, locator, runs, elapsed, matches));
+        }
+        return timings;
+    }
+
+    /**
+     * Profiles the locators of every page object by walking through the application once.
+     * Uses the local stand-in when -Dlocal.server=true and the credentials from the .env file otherwise.
+     */
+    public static void main(String[] args) throws IOException {
+        LocalSauceDemoServer.startIfEnabled();
+        String baseUrl = TestConfig.getBaseUrl();
+        String username = TestConfig.getBoolean("local.server", false) ? "standard_user" : EnvLoader.getEnv("VALID_USERNAME");
+        String password = TestConfig.getBoolean("local.server", false) ? "secret_sauce" : EnvLoader.getEnv("VALID_PASSWORD");
+        WebDriver driver = DriverPool.borrow();
+        List<LocatorProfiler.LocatorTiming> timings = new ArrayList<>();
+        try {
+            driver.get(baseUrl);
+            LoginPage loginPage = new LoginPage(driver);
+            timings.addAll(profile(driver, loginPage, PROFILE_RUNS));
+            loginPage.loginWithPipeline(username, password);
+            WaitEngine.waitForUrlContains(driver, "inventory.html");
+
+            ProductPage productPage = new ProductPage(driver);
+            timings.addAll(profile(driver, productPage, PROFILE_RUNS));
+            productPage.clickAllAddToCartButtons();
+
+            driver.get(baseUrl + "inventory-item.html?id=4");
+            timings.addAll(profile(driver, new ProductDetailPage(driver), PROFILE_RUNS));
+
+            driver.get(baseUrl + "cart.html");
+            timings.addAll(profile(driver, new CartPage(driver), PROFILE_RUNS));
+
+            driver.get(baseUrl + "checkout-step-one.html");
+            timings.addAll(profile(driver, new CheckoutPage(driver), PROFILE_RUNS));
+        } finally {
+            DriverPool.discard(driver);
+        }
+
+        String report = LocatorProfiler.formatReport(timings);
+        Path file = Paths.get("target", "locator-profile.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report, StandardCharsets.UTF_8);
+        System.out.println(report);
+        System.out.println("Locator profile written to " + file.toAbsolutePath());
+    }
+}
@@ -0,0 +1,93 @@
+package utils;
+
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+
+/**
+ * Performs repeated page actions inside the browser in a single WebDriver call.
+ * By default (-Dbulk.actions=native) page objects click element by element, as a user would, so functional tests
+ * exercise real clicks. With -Dbulk.actions=script, e.g. for load runs and benchmarks, all matching buttons are
+ * clicked by one script, which then waits for the counter they update (e.g. the cart badge) to settle before
+ * returning.
+ */
+public class BulkActions {
+
+    // Bulk action mode: "script" clicks in the page, "native" clicks element by element
+    private static final String MODE = TestConfig.get("bulk.actions", "native").toLowerCase();
+
+    // Time the script waits for the buttons to render and for the counter to settle
+    private static final long TIMEOUT_MS = TestConfig.getInt("wait.timeout.seconds", 10) * 1000L;
+
+    // Waits for the buttons, clicks every visible one and waits until the counter shows the expected value
+    private static final String CLICK_ALL_SCRIPT =
+            "var buttonsCss = arguments[0], counterCss = arguments[1], change = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var deadline = Date.now() + timeout;" +
+            "function count() {" +
+            "  var counter = document.querySelector(counterCss);" +
+            "  return counter ? (parseInt(counter.textContent, 10) || 0) : 0;" +
+            "}" +
+            "function visibleButtons() {" +
+            "  return Array.prototype.filter.call(document.querySelectorAll(buttonsCss), function (b) {" +
+            "    return b.getClientRects().length > 0;" +
+            "  });" +
+            "}" +
+            "function awaitCount(clicked, expected) {" +
+            "  if (count() === expected) { done({clicked: clicked, settled: true}); return; }" +
+            "  if (Date.now() > deadline) { done({clicked: clicked, settled: false, count: count()}); return; }" +
+            "  setTimeout(function () { awaitCount(clicked, expected); }, 10);" +
+            "}" +
+            "function clickAll() {" +
+            "  var buttons = visibleButtons();" +
+            "  if (buttons.length === 0 && Date.now() < deadline) { setTimeout(clickAll, 25); return; }" +
+            "  var before = count();" +
+            "  buttons.forEach(function (b) { b.click(); });" +
+            "  awaitCount(buttons.length, Math.max(0, before + buttons.length * change));" +
+            "}" +
+            "clickAll();";
+
+    static {
+        if (!MODE.equals("script") && !MODE.equals("native")) {
+            throw new IllegalArgumentException("bulk.actions must be 'script' or 'native', got '" + MODE + "'");
+        }
+    }
+
+    /**
+     * Checks whether bulk actions run as a single in-page script.
+     *
+     * @return True in script mode, false when page objects must click element by element.
+     */
+    public static boolean isScriptMode() {
+        return MODE.equals("script");
+    }
+
+    /**
+     * Clicks every visible element matching the locator in one round trip and waits until the counter
+     * reflects the clicks.
+     *
+     * @param driver           The WebDriver instance.
+     * @param buttons          The locator of the elements to click.
+     * @param counter          The locator of the counter updated by each click; absent means zero.
+     * @param changePerClick   How much each click changes the counter, e.g. 1 for add and -1 for remove.
+     * @return The number of clicked elements.
+     * @throws TimeoutException If no element appears or the counter does not settle in time.
+     */
+    @SuppressWarnings("unchecked")
+    public static int clickAll(WebDriver driver, By buttons, By counter, int changePerClick) {
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                CLICK_ALL_SCRIPT, CssSelectors.of(buttons), CssSelectors.of(counter), changePerClick, TIMEOUT_MS);
+        int clicked = ((Number) result.get("clicked")).intValue();
+        if (clicked == 0) {
+            throw new TimeoutException("No visible element found for " + buttons);
+        }
+        if (!Boolean.TRUE.equals(result.get("settled"))) {
+            throw new TimeoutException("Counter " + counter + " did not settle after " + clicked + " clicks, shows " + result.get("count"));
+        }
+        return clicked;
+    }
+}
@@ -0,0 +1,45 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Converts locators into CSS selectors usable by in-page scripts (document.querySelectorAll).
+ */
+public class CssSelectors {
+
+    /**
+     * Converts a locator into an equivalent CSS selector.
+     * XPath locators are supported when {@link XPathToCss#translate(String)} has an exact translation for them;
+     * text() XPaths are not, so callers fall back to evaluating the locator through WebDriver.
+     *
+     * @param locator The locator to convert.
+     * @return The CSS selector.
+     * @throws IllegalArgumentException If the locator has no CSS equivalent.
+     */
+    public static String of(By locator) {
+        String description = locator.toString();
+        int separator = description.indexOf(": ");
+        if (separator < 0) {
+            throw new IllegalArgumentException("Unsupported locator: " + description);
+        }
+        String strategy = description.substring(0, separator);
+        String value = description.substring(separator + 2);
+        switch (strategy) {
+            case "By.cssSelector":
+                return value;
+            case "By.id":
+                return "[id='" + value + "']";
+            case "By.name":
+                return "[name='" + value + "']";
+            case "By.className":
+                return "." + value;
+            case "By.tagName":
+                return value;
+            case "By.xpath":
+                return XPathToCss.translate(value)
+                        .orElseThrow(() -> new IllegalArgumentException("No CSS equivalent for " + description));
+            default:
+                throw new IllegalArgumentException("No CSS equivalent for " + description);
+        }
+    }
+}
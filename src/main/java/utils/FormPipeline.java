@@ -0,0 +1,127 @@
+package utils;
+
+import config.CommandMetrics;
+import config.EmbeddedDriver;
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills a whole form and submits it in a single WebDriver round trip.
+ * Values are assigned through the native value setter followed by input and change events, so frameworks
+ * with controlled inputs (React) register them exactly as typed values.
+ * <p>
+ * Each pipeline measures the round trips it sends with {@link CommandMetrics} and compares them to the least a
+ * field-by-field fill of the same form costs: locating each control and typing into or clicking it. The saving
+ * depends only on the pipeline call itself, not on which other tests ran before it.
+ */
+public class FormPipeline {
+
+    // Time the script waits for the form to render
+    private static final long TIMEOUT_MS = TestConfig.getInt("wait.timeout.seconds", 10) * 1000L;
+
+    // Waits for every field and the submit control, assigns the values, fires the events and submits
+    private static final String FILL_SCRIPT =
+            "var fields = arguments[0], values = arguments[1], submitCss = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var deadline = Date.now() + timeout;" +
+            "function fill() {" +
+            "  var elements = fields.map(function (css) { return document.querySelector(css); });" +
+            "  var submit = document.querySelector(submitCss);" +
+            "  var missing = fields.filter(function (css, i) { return !elements[i]; });" +
+            "  if (!submit) { missing.push(submitCss); }" +
+            "  if (missing.length > 0) {" +
+            "    if (Date.now() > deadline) { done({missing: missing}); } else { setTimeout(fill, 25); }" +
+            "    return;" +
+            "  }" +
+            "  elements.forEach(function (element, i) {" +
+            "    var prototype = element instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "    element.focus();" +
+            "    Object.getOwnPropertyDescriptor(prototype, 'value').set.call(element, values[i]);" +
+            "    element.dispatchEvent(new Event('input', {bubbles: true}));" +
+            "    element.dispatchEvent(new Event('change', {bubbles: true}));" +
+            "  });" +
+            "  submit.click();" +
+            "  done({missing: []});" +
+            "}" +
+            "fill();";
+
+    // Round trips a control (field or submit) costs at least when filled one by one: locate it, then type or click
+    private static final int FIELD_BY_FIELD_ROUND_TRIPS_PER_CONTROL = 2;
+
+    // Round trips saved by the pipelines of the current thread since the last reset
+    private static final ThreadLocal<long[]> roundTripsSaved = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Fills the fields in iteration order and clicks the submit control, all in one round trip.
+     *
+     * @param driver The WebDriver instance.
+     * @param values The value of each field, keyed by field locator.
+     * @param submit The locator of the control submitting the form.
+     * @throws TimeoutException If a field or the submit control does not appear in time.
+     */
+    @SuppressWarnings("unchecked")
+    public static void fillAndSubmit(WebDriver driver, Map<By, String> values, By submit) {
+        if (EmbeddedDriver.isEmbedded(driver)) {
+            // An in-process driver has no round trips to save, and HtmlUnit aborts async scripts whose click navigates
+            fillFieldByField(driver, values, submit);
+            return;
+        }
+        long before = CommandMetrics.getRoundTrips();
+        List<String> fields = new ArrayList<>(values.size());
+        List<String> fieldValues = new ArrayList<>(values.size());
+        values.forEach((locator, value) -> {
+            fields.add(CssSelectors.of(locator));
+            fieldValues.add(value);
+        });
+
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                FILL_SCRIPT, fields, fieldValues, CssSelectors.of(submit), TIMEOUT_MS);
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new TimeoutException("Form elements not found: " + missing);
+        }
+        long roundTrips = CommandMetrics.getRoundTrips() - before;
+        if (roundTrips > 0) {
+            long fieldByField = (values.size() + 1L) * FIELD_BY_FIELD_ROUND_TRIPS_PER_CONTROL;
+            roundTripsSaved.get()[0] += Math.max(0, fieldByField - roundTrips);
+        }
+    }
+
+    /**
+     * Types the values into the fields in iteration order and clicks the submit control, one WebDriver call at a time,
+     * as a user would.
+     *
+     * @param driver The WebDriver instance.
+     * @param values The value of each field, keyed by field locator.
+     * @param submit The locator of the control submitting the form.
+     */
+    public static void fillFieldByField(WebDriver driver, Map<By, String> values, By submit) {
+        values.forEach((locator, value) -> WaitEngine.waitForVisible(driver, locator).sendKeys(value));
+        WaitEngine.waitForVisible(driver, submit).click();
+    }
+
+    /**
+     * Resets the pipeline measurements of the current thread.
+     */
+    public static void resetRoundTripsSaved() {
+        roundTripsSaved.get()[0] = 0;
+    }
+
+    /**
+     * Retrieves the round trips the current thread's pipelines have saved since the last reset: the minimal
+     * field-by-field cost of their controls minus the round trips they sent. Waits a field-by-field fill would add
+     * are not counted, so the real saving is at least this.
+     *
+     * @return The number of saved WebDriver round trips.
+     */
+    public static long getRoundTripsSaved() {
+        return roundTripsSaved.get()[0];
+    }
+}
@@ -0,0 +1,207 @@
+package utils;
+
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long locators take to resolve and proposes cheaper CSS equivalents.
+ * As a WebDriver listener (enabled with -Dlocator.profiling=true) it accumulates the time of every
+ * findElement(s) call per locator across the suite and writes a ranked report to target/locator-report.txt
+ * when the JVM exits. {@code tools.profiling.PageObjectProfiler} uses the same report to profile every By field
+ * of the page objects against the live application or the local stand-in.
+ */
+public class LocatorProfiler implements WebDriverListener {
+
+    // Average resolution time (in ms) above which a locator is flagged as slow
+    private static final double SLOW_THRESHOLD_MS = TestConfig.getInt("locator.slow.ms", 20);
+
+    // Suite-wide report written at JVM exit
+    private static final Path REPORT_FILE = Paths.get(TestConfig.get("locator.report", "target/locator-report.txt"));
+
+    // Shared listener instance used to decorate every driver
+    private static final LocatorProfiler INSTANCE = new LocatorProfiler();
+
+    // Suite-wide statistics per locator
+    private static final Map<String, LocatorStats> suiteStats = new ConcurrentHashMap<>();
+
+    // Start times of the lookups in flight on the current thread
+    private static final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorProfiler::writeSuiteReport, "locator-report"));
+    }
+
+    /**
+     * Retrieves the shared listener instance.
+     *
+     * @return The listener used to decorate drivers.
+     */
+    public static LocatorProfiler getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (isLookup(method, args)) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        record(method, args);
+    }
+
+    /**
+     * Formats measurements as a report ranked by total time, with slow locators flagged.
+     *
+     * @param timings The measurements to report.
+     * @return The report text.
+     */
+    public static String formatReport(List<LocatorTiming> timings) {
+        List<LocatorTiming> ranked = new ArrayList<>(timings);
+        ranked.sort(Comparator.comparingLong((LocatorTiming timing) -> timing.totalNanos).reversed());
+        StringBuilder report = new StringBuilder(String.format("%-8s %10s %8s %8s  %-45s %s%n", "flag", "total ms", "calls", "avg ms", "locator", "suggestion"));
+        for (LocatorTiming timing : ranked) {
+            report.append(String.format("%-8s %10.1f %8d %8.2f  %-45s %s%n",
+                    timing.isSlow() ? "SLOW" : "",
+                    timing.totalNanos / 1e6,
+                    timing.calls,
+                    timing.averageMillis(),
+                    timing.name,
+                    XPathToCss.propose(timing.locator).map(css -> "By.cssSelector(\"" + css + "\")").orElse("")));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Checks whether a decorated call is an element lookup.
+     */
+    private static boolean isLookup(Method method, Object[] args) {
+        return (method.getName().equals("findElement") || method.getName().equals("findElements"))
+                && args != null && args.length == 1 && args[0] instanceof By;
+    }
+
+    /**
+     * Records the time of a finished lookup together with the page-object method that issued it.
+     */
+    private static void record(Method method, Object[] args) {
+        if (!isLookup(method, args) || startTimes.get().isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startTimes.get().pop();
+        By locator = (By) args[0];
+        LocatorStats stats = suiteStats.computeIfAbsent(locator.toString(), key -> new LocatorStats(locator));
+        stats.calls.increment();
+        stats.nanos.add(elapsed);
+        StackWalker.getInstance()
+                .walk(frames -> frames.filter(frame -> frame.getClassName().startsWith("pages.")).findFirst())
+                .ifPresent(frame -> stats.callSites.add(frame.getClassName().substring("pages.".length()) + "." + frame.getMethodName()));
+    }
+
+    /**
+     * Writes the suite-wide report, ranked by total time, if any lookup was recorded.
+     */
+    private static void writeSuiteReport() {
+        if (suiteStats.isEmpty()) {
+            return;
+        }
+        List<LocatorTiming> timings = new ArrayList<>();
+        suiteStats.values().forEach(stats -> {
+            String sites;
+            synchronized (stats.callSites) {
+                sites = stats.callSites.isEmpty() ? stats.locator.toString() : String.join(", ", stats.callSites);
+            }
+            timings.add(new LocatorTiming(sites, stats.locator, stats.calls.intValue(), stats.nanos.sum(), -1));
+        });
+        try {
+            Files.createDirectories(REPORT_FILE.toAbsolutePath().getParent());
+            Files.writeString(REPORT_FILE, formatReport(timings), StandardCharsets.UTF_8);
+            System.out.println("Locator report written to " + REPORT_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Could not write the locator report: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resolution time of one locator over a number of lookups.
+     */
+    public static class LocatorTiming {
+        private final String name;
+        private final By locator;
+        private final int calls;
+        private final long totalNanos;
+        private final int matches;
+
+        public LocatorTiming(String name, By locator, int calls, long totalNanos, int matches) {
+            this.name = name;
+            this.locator = locator;
+            this.calls = calls;
+            this.totalNanos = totalNanos;
+            this.matches = matches;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public By getLocator() {
+            return locator;
+        }
+
+        public int getMatches() {
+            return matches;
+        }
+
+        public double averageMillis() {
+            return calls == 0 ? 0 : totalNanos / 1e6 / calls;
+        }
+
+        /**
+         * A locator is slow when it exceeds the threshold or scans the whole document.
+         */
+        public boolean isSlow() {
+            return averageMillis() > SLOW_THRESHOLD_MS || XPathToCss.isDocumentScan(locator);
+        }
+    }
+
+    /**
+     * Suite-wide accumulation for one locator.
+     */
+    private static class LocatorStats {
+        private final By locator;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final Set<String> callSites = Collections.synchronizedSet(new TreeSet<>());
+
+        LocatorStats(By locator) {
+            this.locator = locator;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package utils;
+
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Decides when a page is usable under the configured page-load strategy (-Dpage.load.strategy).
+ * With NORMAL, navigations only return once every subresource has loaded, so there is nothing left to check.
+ * With EAGER (return after the document is parsed) or NONE (return immediately), page objects call
+ * {@link #await(WebDriver, By)} from their constructor and wait for their key element instead of for images,
+ * fonts and third-party scripts.
+ */
+public class PageReadiness {
+
+    // Page-load strategy applied to new browsers
+    private static final PageLoadStrategy STRATEGY = parseStrategy(TestConfig.get("page.load.strategy", "normal"));
+
+    /**
+     * Retrieves the configured page-load strategy.
+     *
+     * @return The strategy new browsers are started with.
+     */
+    public static PageLoadStrategy getStrategy() {
+        return STRATEGY;
+    }
+
+    /**
+     * Waits until the document is parsed and the page's key element can be interacted with.
+     * Returns immediately under the NORMAL strategy.
+     *
+     * @param driver     The WebDriver instance.
+     * @param keyElement The element a page object needs before it can be used.
+     */
+    public static void await(WebDriver driver, By keyElement) {
+        if (STRATEGY == PageLoadStrategy.NORMAL) {
+            return;
+        }
+        WaitEngine.waitForDocumentParsed(driver);
+        WaitEngine.waitForClickable(driver, keyElement);
+    }
+
+    /**
+     * Waits until a web document has been parsed after a navigation, e.g. before cookies are set for its origin.
+     * Returns immediately under the NORMAL strategy.
+     *
+     * @param driver The WebDriver instance.
+     */
+    public static void awaitDocument(WebDriver driver) {
+        if (STRATEGY != PageLoadStrategy.NORMAL) {
+            WaitEngine.waitForDocumentParsed(driver);
+        }
+    }
+
+    /**
+     * Parses the configured strategy name.
+     */
+    private static PageLoadStrategy parseStrategy(String value) {
+        PageLoadStrategy strategy = PageLoadStrategy.fromString(value.trim().toLowerCase());
+        if (strategy == null) {
+            throw new IllegalArgumentException("page.load.strategy must be normal, eager or none, got '" + value + "'");
+        }
+        return strategy;
+    }
+}
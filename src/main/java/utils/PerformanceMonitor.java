@@ -0,0 +1,250 @@
+package utils;
+
+import config.TestConfig;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the browser Performance API after each page transition (-Dperf.monitor=true): page objects sample the page
+ * their navigating actions land on, e.g. CheckoutPage.clickFinish samples CheckoutCompletePage. For a newly loaded
+ * document it records navigation timing (TTFB, DOMContentLoaded, load) and the Largest Contentful Paint; for every
+ * sample it records the layout shift (CLS) and long tasks since the previous sample of the same document, which also
+ * covers client-side transitions. Samples are attached to each test and aggregated per page into percentiles,
+ * attached to the suite and written to target/performance-summary.csv at the end of the run.
+ * <p>
+ * A page's budget (-Dperf.budget.&lt;Page&gt;.ms, e.g. -Dperf.budget.ProductPage.ms=2500) applies to its LCP, or to
+ * the load event when the browser reports no LCP. -Dperf.budget.mode=fail fails the test on the page that is over
+ * budget; the default "warn" only reports it.
+ */
+public class PerformanceMonitor {
+
+    // Whether page objects sample the Performance API
+    private static final boolean ENABLED = TestConfig.getBoolean("perf.monitor", false);
+
+    // Whether a page over budget fails the test instead of only being reported
+    private static final boolean FAIL_ON_BUDGET = TestConfig.get("perf.budget.mode", "warn").equalsIgnoreCase("fail");
+
+    // Run summary written at JVM exit
+    private static final Path SUMMARY_FILE = Paths.get(TestConfig.get("perf.summary", "target/performance-summary.csv"));
+
+    // Metrics in report order
+    private static final String[] METRICS = {"ttfb", "domContentLoaded", "load", "lcp", "cls", "longTasks", "longTaskMs"};
+
+    // Collects navigation timing for new documents and CLS / long tasks since the previous sample of the document
+    private static final String SAMPLE_SCRIPT =
+            "var since = window.__perfMonitorMark || 0;" +
+            "var result = {timeOrigin: performance.timeOrigin, path: location.pathname, newDocument: !window.__perfMonitorMark};" +
+            "window.__perfMonitorMark = performance.now();" +
+            "function buffered(type) {" +
+            "  try {" +
+            "    var observer = new PerformanceObserver(function () {});" +
+            "    observer.observe({type: type, buffered: true});" +
+            "    var entries = observer.takeRecords();" +
+            "    observer.disconnect();" +
+            "    return entries;" +
+            "  } catch (e) { return []; }" +
+            "}" +
+            "if (result.newDocument) {" +
+            "  var nav = performance.getEntriesByType('navigation')[0];" +
+            "  if (nav) {" +
+            "    result.ttfb = nav.responseStart;" +
+            "    result.domContentLoaded = nav.domContentLoadedEventEnd;" +
+            "    if (nav.loadEventEnd > 0) { result.load = nav.loadEventEnd; }" +
+            "  }" +
+            "  var lcp = buffered('largest-contentful-paint');" +
+            "  if (lcp.length > 0) { result.lcp = lcp[lcp.length - 1].startTime; }" +
+            "}" +
+            "result.cls = buffered('layout-shift').filter(function (e) { return !e.hadRecentInput && e.startTime >= since; })" +
+            "  .reduce(function (sum, e) { return sum + e.value; }, 0);" +
+            "var tasks = buffered('longtask').filter(function (e) { return e.startTime >= since; });" +
+            "result.longTasks = tasks.length;" +
+            "result.longTaskMs = tasks.reduce(function (sum, e) { return sum + e.duration; }, 0);" +
+            "return result;";
+
+    // Values of every metric per page across the run
+    private static final Map<String, Map<String, List<Double>>> runSamples = new ConcurrentHashMap<>();
+
+    // Samples taken during the test running on the current thread
+    private static final ThreadLocal<List<String>> testSamples = ThreadLocal.withInitial(ArrayList::new);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PerformanceMonitor::writeSummary, "performance-summary"));
+    }
+
+    /**
+     * Samples the Performance API after an action that navigates to the given page.
+     * The sample is skipped when the browser is not on that page afterwards, e.g. because a form was rejected.
+     *
+     * @param driver The WebDriver instance.
+     * @param page   The page name used in reports and budgets, e.g. "CartPage".
+     * @param path   The document the page is served from, e.g. "cart.html", or null to accept any document.
+     * @throws AssertionError If the page is over budget and -Dperf.budget.mode=fail.
+     */
+    @SuppressWarnings("unchecked")
+    public static void sampleAfterNavigation(WebDriver driver, String page, String path) {
+        if (!ENABLED) {
+            return;
+        }
+        Map<String, Object> result;
+        try {
+            PageReadiness.awaitDocument(driver);
+            result = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SAMPLE_SCRIPT);
+        } catch (Exception e) {
+            System.out.println("Could not sample page performance: " + e.getMessage());
+            return;
+        }
+        if (path != null && !String.valueOf(result.get("path")).endsWith("/" + path)) {
+            return;
+        }
+
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            if (result.get(metric) instanceof Number) {
+                values.put(metric, ((Number) result.get(metric)).doubleValue());
+            }
+        }
+        Map<String, List<Double>> pageSamples = runSamples.computeIfAbsent(page, key -> new ConcurrentHashMap<>());
+        values.forEach((metric, value) ->
+                pageSamples.computeIfAbsent(metric, key -> Collections.synchronizedList(new ArrayList<>())).add(value));
+
+        String budgetViolation = checkBudget(page, values);
+        StringBuilder line = new StringBuilder(page).append(',').append(result.get("path"));
+        for (String metric : METRICS) {
+            line.append(',').append(values.containsKey(metric) ? String.format(Locale.ROOT, "%.3f", values.get(metric)) : "");
+        }
+        line.append(',').append(budgetViolation == null ? "" : "OVER BUDGET");
+        testSamples.get().add(line.toString());
+
+        if (budgetViolation != null) {
+            if (FAIL_ON_BUDGET) {
+                throw new AssertionError(budgetViolation);
+            }
+            System.out.println("WARNING: " + budgetViolation);
+        }
+    }
+
+    /**
+     * Starts collecting the samples of the test running on the current thread.
+     */
+    public static void startTest() {
+        testSamples.get().clear();
+    }
+
+    /**
+     * Finishes the current test and returns its samples as CSV.
+     *
+     * @return CSV text with one row per sample, or null if nothing was sampled.
+     */
+    public static String finishTest() {
+        List<String> samples = testSamples.get();
+        if (samples.isEmpty()) {
+            return null;
+        }
+        String csv = "page,path," + String.join(",", METRICS) + ",budget\n" + String.join("\n", samples) + "\n";
+        samples.clear();
+        return csv;
+    }
+
+    /**
+     * Compares the budgeted metric of a sample with the page's budget.
+     *
+     * @return A description of the violation, or null if the page is within budget or has none.
+     */
+    private static String checkBudget(String page, Map<String, Double> values) {
+        String budget = TestConfig.get("perf.budget." + page + ".ms", null);
+        Double measured = values.containsKey("lcp") ? values.get("lcp") : values.get("load");
+        if (budget == null || measured == null) {
+            return null;
+        }
+        double limit = Double.parseDouble(budget);
+        if (measured <= limit) {
+            return null;
+        }
+        return String.format("%s took %.0f ms (%s), over its budget of %.0f ms", page, measured,
+                values.containsKey("lcp") ? "LCP" : "load", limit);
+    }
+
+    /**
+     * Aggregates the samples of the run so far into per-page percentiles.
+     *
+     * @return CSV text with one row per page and metric, or null if nothing was sampled.
+     */
+    public static String summary() {
+        return aggregate(new ArrayList<>());
+    }
+
+    /**
+     * Writes the per-page percentiles of the run and prints pages whose p95 is over budget.
+     */
+    private static void writeSummary() {
+        List<String> warnings = new ArrayList<>();
+        String csv = aggregate(warnings);
+        if (csv == null) {
+            return;
+        }
+        warnings.forEach(System.out::println);
+        try {
+            Files.createDirectories(SUMMARY_FILE.toAbsolutePath().getParent());
+            Files.writeString(SUMMARY_FILE, csv, StandardCharsets.UTF_8);
+            System.out.println("Page performance summary written to " + SUMMARY_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            System.out.println("Could not write the page performance summary: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Computes the per-page percentiles and collects a warning for every page whose p95 is over budget.
+     *
+     * @return The summary CSV, or null if nothing was sampled.
+     */
+    private static String aggregate(List<String> warnings) {
+        if (runSamples.isEmpty()) {
+            return null;
+        }
+        StringBuilder csv = new StringBuilder("page,metric,count,p50,p95,p99,max,budget ms\n");
+        new TreeMap<>(runSamples).forEach((page, metrics) -> {
+            String budget = TestConfig.get("perf.budget." + page + ".ms", "");
+            for (String metric : METRICS) {
+                List<Double> values;
+                synchronized (metrics.getOrDefault(metric, Collections.emptyList())) {
+                    values = new ArrayList<>(metrics.getOrDefault(metric, Collections.emptyList()));
+                }
+                if (values.isEmpty()) {
+                    continue;
+                }
+                Collections.sort(values);
+                boolean budgeted = metric.equals(metrics.containsKey("lcp") ? "lcp" : "load");
+                csv.append(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%s%n", page, metric, values.size(),
+                        percentile(values, 50), percentile(values, 95), percentile(values, 99),
+                        values.get(values.size() - 1), budgeted ? budget : ""));
+                if (budgeted && !budget.isEmpty() && percentile(values, 95) > Double.parseDouble(budget)) {
+                    warnings.add(String.format("WARNING: %s p95 %s is %.0f ms, over its budget of %s ms",
+                            page, metric, percentile(values, 95), budget));
+                }
+            }
+        });
+        return csv.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values.
+     */
+    private static double percentile(List<Double> sorted, int percentile) {
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
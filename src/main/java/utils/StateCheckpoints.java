@@ -0,0 +1,144 @@
+package utils;
+
+import config.TestConfig;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory checkpoints of the application state at named points of a flow.
+ * A checkpoint stores the browser cookies, localStorage (e.g. the cart contents) and
+ * sessionStorage together with the current URL, so other tests can restore it and jump
+ * straight to that page instead of replaying the whole flow through the UI.
+ */
+public class StateCheckpoints {
+
+    // Reads both web storages of the current page as plain key/value maps
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {" +
+            "  var result = {};" +
+            "  for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); }" +
+            "  return result;" +
+            "}" +
+            "return { local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    // Replaces both web storages of the current page with the given maps
+    private static final String WRITE_STORAGE_SCRIPT =
+            "function load(storage, values) {" +
+            "  storage.clear();" +
+            "  Object.keys(values).forEach(function (key) { storage.setItem(key, values[key]); });" +
+            "}" +
+            "load(window.localStorage, arguments[0]);" +
+            "load(window.sessionStorage, arguments[1]);";
+
+    // Captured checkpoints by name
+    private static final Map<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+    // One lock per checkpoint name so only one thread builds a missing checkpoint
+    private static final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Captures the current browser state under the given name, replacing any previous checkpoint.
+     *
+     * @param driver The WebDriver instance whose state is captured.
+     * @param name   The checkpoint name.
+     */
+    @SuppressWarnings("unchecked")
+    public static void capture(WebDriver driver, String name) {
+        Map<String, Map<String, String>> storage =
+                (Map<String, Map<String, String>>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        checkpoints.put(name, new Checkpoint(
+                new HashSet<>(driver.manage().getCookies()),
+                storage.get("local"),
+                storage.get("session"),
+                driver.getCurrentUrl()));
+    }
+
+    /**
+     * Restores a checkpoint and navigates to the URL it was captured on.
+     *
+     * @param driver The WebDriver instance to restore the state into.
+     * @param name   The checkpoint name.
+     * @return True if the checkpoint existed and was restored.
+     */
+    public static boolean restore(WebDriver driver, String name) {
+        Checkpoint checkpoint = checkpoints.get(name);
+        if (checkpoint == null) {
+            return false;
+        }
+
+        // Cookies and storage can only be written while on the application origin
+        String baseUrl = TestConfig.getBaseUrl();
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+            PageReadiness.awaitDocument(driver);
+        }
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : checkpoint.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, checkpoint.localStorage, checkpoint.sessionStorage);
+        driver.get(checkpoint.url);
+        return true;
+    }
+
+    /**
+     * Restores a checkpoint, building it first with the given flow if it does not exist yet.
+     * The flow runs at most once per checkpoint name; concurrent callers wait for it and then restore.
+     *
+     * @param driver The WebDriver instance to restore the state into.
+     * @param name   The checkpoint name.
+     * @param flow   UI steps that lead the browser to the checkpoint state.
+     */
+    public static void restoreOrCreate(WebDriver driver, String name, Runnable flow) {
+        if (restore(driver, name)) {
+            return;
+        }
+        synchronized (locks.computeIfAbsent(name, key -> new Object())) {
+            if (restore(driver, name)) {
+                return;
+            }
+            flow.run();
+            capture(driver, name);
+        }
+    }
+
+    /**
+     * Checks whether a checkpoint has been captured.
+     *
+     * @param name The checkpoint name.
+     * @return True if the checkpoint exists.
+     */
+    public static boolean exists(String name) {
+        return checkpoints.containsKey(name);
+    }
+
+    /**
+     * Removes all checkpoints.
+     */
+    public static void clear() {
+        checkpoints.clear();
+    }
+
+    /**
+     * Browser state captured at a named point of a flow.
+     */
+    private static class Checkpoint {
+        private final Set<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final String url;
+
+        private Checkpoint(Set<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage, String url) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+            this.sessionStorage = sessionStorage;
+            this.url = url;
+        }
+    }
+}
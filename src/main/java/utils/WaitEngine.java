@@ -0,0 +1,353 @@
+package utils;
+
+import config.EmbeddedDriver;
+import config.TestConfig;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Explicit wait primitives for page objects.
+ * The framework runs with the implicit wait disabled, so every wait is explicit and
+ * negative checks return as soon as the page has settled instead of paying a fixed timeout.
+ * Time spent waiting is accumulated per thread so it can be reported for each test.
+ * <p>
+ * Element waits run in the page: a single asynchronous script checks the condition, re-checks it whenever a
+ * MutationObserver reports a DOM change and returns as soon as it holds, instead of polling over HTTP every 500 ms.
+ * Locators without an exact CSS equivalent (such as text() XPaths), URL waits, embedded drivers and -Dwait.observer=false use WebDriverWait polling.
+ */
+public class WaitEngine {
+
+    // Default timeout for explicit waits (configurable with -Dwait.timeout.seconds)
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(TestConfig.getInt("wait.timeout.seconds", 10));
+
+    // Whether element waits run as in-page MutationObserver scripts instead of WebDriverWait polling
+    private static final boolean OBSERVER_ENABLED = TestConfig.getBoolean("wait.observer", true);
+
+    // Resolves with {value: ...} once the condition holds for the selector, or null when the timeout expires.
+    // Conditions mirror ExpectedConditions: the first match decides, except for allVisible. A 100 ms in-page
+    // re-check covers transitions and late stylesheets, which change visibility without mutating the DOM.
+    private static final String OBSERVER_SCRIPT =
+            "var selector = arguments[0], condition = arguments[1], expected = arguments[2], timeout = arguments[3];" +
+            "var done = arguments[arguments.length - 1];" +
+            "function shown(el) {" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  if (rect.width === 0 || rect.height === 0 || getComputedStyle(el).visibility !== 'visible') { return false; }" +
+            "  for (var node = el; node; node = node.parentElement) {" +
+            "    if (parseFloat(getComputedStyle(node).opacity) === 0) { return false; }" +
+            "  }" +
+            "  return true;" +
+            "}" +
+            "function evaluate() {" +
+            "  var all = document.querySelectorAll(selector), first = all[0];" +
+            "  switch (condition) {" +
+            "    case 'present': return first ? {value: first} : null;" +
+            "    case 'visible': return first && shown(first) ? {value: first} : null;" +
+            "    case 'clickable': return first && shown(first) && !first.disabled ? {value: first} : null;" +
+            "    case 'allVisible':" +
+            "      var list = Array.prototype.slice.call(all);" +
+            "      return list.length > 0 && list.every(shown) ? {value: list} : null;" +
+            "    case 'invisible': return !first || !shown(first) ? {value: true} : null;" +
+            "    case 'text': return first && first.innerText.trim() === expected ? {value: true} : null;" +
+            "  }" +
+            "}" +
+            "var finished = false, observer, interval, timer;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearInterval(interval);" +
+            "  clearTimeout(timer);" +
+            "  done(result);" +
+            "}" +
+            "function check() {" +
+            "  if (finished) { return; }" +
+            "  try {" +
+            "    var result = evaluate();" +
+            "    if (result) { finish(result); }" +
+            "  } catch (e) { finish({error: String(e)}); }" +
+            "}" +
+            "check();" +
+            "if (!finished) {" +
+            "  observer = new MutationObserver(check);" +
+            "  observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "  interval = setInterval(check, 100);" +
+            "  timer = setTimeout(function () { finish(null); }, timeout);" +
+            "}";
+
+    // Polling interval for embedded drivers, whose layout engine the observer script cannot rely on
+    private static final Duration EMBEDDED_POLLING_INTERVAL = Duration.ofMillis(50);
+
+    // Headroom of the script timeout over the in-page timeout, so the page always answers first
+    private static final Duration SCRIPT_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    // Driver whose script timeout has been raised for the observer waits, per thread
+    private static final ThreadLocal<WebDriver> scriptTimeoutDriver = new ThreadLocal<>();
+
+    // Resolves once the document is loaded and the next animation frame has been rendered
+    private static final String DOM_SETTLED_SCRIPT =
+            "var done = arguments[arguments.length - 1];" +
+            "function check() {" +
+            "  if (document.readyState !== 'complete') { setTimeout(check, 25); return; }" +
+            "  requestAnimationFrame(function () { setTimeout(function () { done(true); }, 0); });" +
+            "}" +
+            "check();";
+
+    // True once a web document (not the initial about:blank) has been parsed
+    private static final String DOCUMENT_PARSED_SCRIPT =
+            "return location.protocol.indexOf('http') === 0 && document.readyState !== 'loading';";
+
+    // Nanoseconds spent waiting by the current thread since the last reset
+    private static final ThreadLocal<long[]> waitNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * Waits until the element is visible and returns it.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return The visible element.
+     * @throws TimeoutException If the element does not become visible in time.
+     */
+    public static WebElement waitForVisible(WebDriver driver, By locator) {
+        return observe(driver, locator, "visible", null, ExpectedConditions.visibilityOfElementLocated(locator));
+    }
+
+    /**
+     * Waits until the element is visible and enabled, so it can be interacted with, and returns it.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return The usable element.
+     * @throws TimeoutException If the element does not become usable in time.
+     */
+    public static WebElement waitForClickable(WebDriver driver, By locator) {
+        return observe(driver, locator, "clickable", null, ExpectedConditions.elementToBeClickable(locator));
+    }
+
+    /**
+     * Waits until all elements matching the locator are visible and returns them.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The elements locator.
+     * @return The visible elements.
+     * @throws TimeoutException If no visible element appears in time.
+     */
+    public static List<WebElement> waitForAllVisible(WebDriver driver, By locator) {
+        return observe(driver, locator, "allVisible", null, ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+    }
+
+    /**
+     * Waits until the element is present in the DOM and returns it.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return The present element.
+     * @throws TimeoutException If the element does not appear in time.
+     */
+    public static WebElement waitForPresent(WebDriver driver, By locator) {
+        return observe(driver, locator, "present", null, ExpectedConditions.presenceOfElementLocated(locator));
+    }
+
+    /**
+     * Checks whether the element becomes visible within the default timeout.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return True if the element became visible, false on timeout.
+     */
+    public static boolean isVisible(WebDriver driver, By locator) {
+        try {
+            waitForVisible(driver, locator);
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks that no element matches the locator once the page has settled.
+     * Returns immediately after the settle check instead of waiting for a timeout.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return True if the element is absent.
+     */
+    public static boolean isAbsent(WebDriver driver, By locator) {
+        awaitDomSettled(driver);
+        return driver.findElements(locator).isEmpty();
+    }
+
+    /**
+     * Waits until no visible element matches the locator.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @return True if the element disappeared, false on timeout.
+     */
+    public static boolean waitForAbsent(WebDriver driver, By locator) {
+        try {
+            return observe(driver, locator, "invisible", null, ExpectedConditions.invisibilityOfElementLocated(locator));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the element's text equals the expected value.
+     *
+     * @param driver  The WebDriver instance.
+     * @param locator The element locator.
+     * @param text    The expected text.
+     * @return True if the element shows the text, false on timeout.
+     */
+    public static boolean waitForText(WebDriver driver, By locator, String text) {
+        try {
+            return observe(driver, locator, "text", text, ExpectedConditions.textToBe(locator, text));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits until the current URL contains the given fragment.
+     *
+     * @param driver   The WebDriver instance.
+     * @param fragment The expected part of the URL, e.g. "inventory.html".
+     * @throws TimeoutException If the URL does not change in time.
+     */
+    public static void waitForUrlContains(WebDriver driver, String fragment) {
+        until(driver, ExpectedConditions.urlContains(fragment), DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits until the current document has been parsed (readyState interactive or complete).
+     * Subresources such as images may still be loading.
+     *
+     * @param driver The WebDriver instance.
+     * @throws TimeoutException If the document is not parsed in time.
+     */
+    public static void waitForDocumentParsed(WebDriver driver) {
+        until(driver, d -> (Boolean) ((JavascriptExecutor) d).executeScript(DOCUMENT_PARSED_SCRIPT), DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits until the document has loaded and pending rendering has been flushed.
+     *
+     * @param driver The WebDriver instance.
+     */
+    public static void awaitDomSettled(WebDriver driver) {
+        if (EmbeddedDriver.isEmbedded(driver)) {
+            // HtmlUnit renders no frames, so only the document state can be awaited
+            until(driver, d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState;")), DEFAULT_TIMEOUT);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ((JavascriptExecutor) driver).executeAsyncScript(DOM_SETTLED_SCRIPT);
+        } finally {
+            waitNanos.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Resets the wait time counter of the current thread.
+     */
+    public static void resetWaitTime() {
+        waitNanos.get()[0] = 0;
+    }
+
+    /**
+     * Retrieves the time the current thread has spent waiting since the last reset.
+     *
+     * @return The accumulated wait time in milliseconds.
+     */
+    public static long getWaitTimeMillis() {
+        return Duration.ofNanos(waitNanos.get()[0]).toMillis();
+    }
+
+    /**
+     * Waits for an element condition inside the page and records how long it took.
+     * Falls back to polling with the equivalent ExpectedCondition when the locator has no exact CSS equivalent.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T observe(WebDriver driver, By locator, String condition, String expected, ExpectedCondition<T> fallback) {
+        String selector;
+        try {
+            selector = OBSERVER_ENABLED && !EmbeddedDriver.isEmbedded(driver) ? CssSelectors.of(locator) : null;
+        } catch (IllegalArgumentException e) {
+            selector = null;
+        }
+        if (selector == null) {
+            return until(driver, fallback, DEFAULT_TIMEOUT);
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + DEFAULT_TIMEOUT.toNanos();
+        Object result;
+        try {
+            raiseScriptTimeout(driver);
+            while (true) {
+                long remainingMillis = Math.max(0, Duration.ofNanos(deadline - System.nanoTime()).toMillis());
+                try {
+                    result = ((JavascriptExecutor) driver).executeAsyncScript(OBSERVER_SCRIPT, selector, condition, expected, remainingMillis);
+                    break;
+                } catch (JavascriptException e) {
+                    // The document was replaced by a navigation while observing; observe the new one
+                    if (System.nanoTime() >= deadline) {
+                        throw new TimeoutException("Timed out waiting for " + locator + " to be " + condition, e);
+                    }
+                }
+            }
+        } finally {
+            waitNanos.get()[0] += System.nanoTime() - start;
+        }
+
+        if (result == null) {
+            throw new TimeoutException(String.format("Expected condition failed: waiting for %s to be %s (tried for %d second(s))",
+                    locator, condition, DEFAULT_TIMEOUT.getSeconds()));
+        }
+        Map<String, Object> outcome = (Map<String, Object>) result;
+        if (outcome.containsKey("error")) {
+            // The browser rejected the selector, e.g. a class name containing spaces
+            return until(driver, fallback, Duration.ofNanos(Math.max(0, deadline - System.nanoTime())));
+        }
+        return (T) outcome.get("value");
+    }
+
+    /**
+     * Makes sure the script timeout of a driver outlasts the in-page timeout of the observer waits, once per driver.
+     */
+    private static void raiseScriptTimeout(WebDriver driver) {
+        if (scriptTimeoutDriver.get() != driver) {
+            driver.manage().timeouts().scriptTimeout(DEFAULT_TIMEOUT.plus(SCRIPT_TIMEOUT_MARGIN));
+            scriptTimeoutDriver.set(driver);
+        }
+    }
+
+    /**
+     * Runs an explicit wait and records how long it took.
+     */
+    private static <T> T until(WebDriver driver, ExpectedCondition<T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        try {
+            WebDriverWait wait = new WebDriverWait(driver, timeout);
+            if (EmbeddedDriver.isEmbedded(driver)) {
+                // Polling an in-process driver costs no HTTP round trip
+                wait.pollingEvery(EMBEDDED_POLLING_INTERVAL);
+            }
+            return wait.until(condition);
+        } finally {
+            waitNanos.get()[0] += System.nanoTime() - start;
+        }
+    }
+}
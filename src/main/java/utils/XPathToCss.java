@@ -0,0 +1,100 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Translates simple XPath locators into CSS.
+ * Attribute predicates have an exact CSS equivalent and are translated by {@link #translate(String)}, which
+ * in-page scripts may use in place of the XPath. text() predicates have none: {@link #propose(By)} maps them to
+ * the application's data-test naming convention (e.g. 'Add to cart' becomes button[data-test^='add-to-cart'])
+ * for locator reports only, since the proposal must be verified against the page.
+ */
+public class XPathToCss {
+
+    // //tag[predicate] with a single predicate
+    private static final Pattern SINGLE_PREDICATE = Pattern.compile("^//([\\w*-]+)\\[(.+)]$");
+
+    // @attr='value'
+    private static final Pattern ATTRIBUTE_EQUALS = Pattern.compile("^@([\\w-]+)\\s*=\\s*'([^']*)'$");
+
+    // contains(@attr, 'value') / starts-with(@attr, 'value')
+    private static final Pattern ATTRIBUTE_FUNCTION = Pattern.compile("^(contains|starts-with)\\(@([\\w-]+)\\s*,\\s*'([^']*)'\\)$");
+
+    // text()='value'
+    private static final Pattern TEXT_EQUALS = Pattern.compile("^text\\(\\)\\s*=\\s*'([^']*)'$");
+
+    /**
+     * Proposes a CSS selector for the given locator, for locator reports.
+     * Exact translations are proposed as is; text() predicates get a data-test selector guessed from the text.
+     *
+     * @param locator The locator to translate.
+     * @return The proposed CSS selector, or empty if the locator is not an XPath or cannot be translated.
+     */
+    public static Optional<String> propose(By locator) {
+        String description = locator.toString();
+        if (!description.startsWith("By.xpath: ")) {
+            return Optional.empty();
+        }
+        String xpath = description.substring("By.xpath: ".length()).trim();
+        Optional<String> exact = translate(xpath);
+        if (exact.isPresent()) {
+            return exact;
+        }
+        Matcher matcher = SINGLE_PREDICATE.matcher(xpath);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        Matcher text = TEXT_EQUALS.matcher(matcher.group(2).trim());
+        if (!text.matches()) {
+            return Optional.empty();
+        }
+        String tag = matcher.group(1).equals("*") ? "" : matcher.group(1);
+        String dataTest = text.group(1).trim().toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return Optional.of(tag + "[data-test^='" + dataTest + "']");
+    }
+
+    /**
+     * Translates a simple XPath expression into an equivalent CSS selector.
+     * Only attribute predicates are translated; text() predicates have no CSS equivalent.
+     *
+     * @param xpath The XPath expression.
+     * @return The CSS selector, or empty if the expression has no exact CSS equivalent.
+     */
+    public static Optional<String> translate(String xpath) {
+        Matcher matcher = SINGLE_PREDICATE.matcher(xpath);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        String tag = matcher.group(1).equals("*") ? "" : matcher.group(1);
+        String predicate = matcher.group(2).trim();
+
+        Matcher attribute = ATTRIBUTE_EQUALS.matcher(predicate);
+        if (attribute.matches()) {
+            return Optional.of(tag + "[" + attribute.group(1) + "='" + attribute.group(2) + "']");
+        }
+
+        Matcher function = ATTRIBUTE_FUNCTION.matcher(predicate);
+        if (function.matches()) {
+            String operator = function.group(1).equals("contains") ? "*=" : "^=";
+            return Optional.of(tag + "[" + function.group(2) + operator + "'" + function.group(3) + "']");
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Checks whether a locator is known to be expensive: text() predicates and whole-document wildcards
+     * force the browser to visit every node.
+     *
+     * @param locator The locator to inspect.
+     * @return True if the locator scans the whole document.
+     */
+    public static boolean isDocumentScan(By locator) {
+        String description = locator.toString();
+        return description.startsWith("By.xpath: ")
+                && (description.contains("text()") || description.contains("//*"));
+    }
+}
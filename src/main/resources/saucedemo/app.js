@@ -0,0 +1,436 @@
+/*
+ * Functional replica of the SauceDemo pages used by the regression suite.
+ * Mirrors the ids, classes, data-test attributes, texts, session cookie and
+ * localStorage cart of https://www.saucedemo.com so the page objects work unchanged.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+
+    var PRODUCTS = [
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+            desc: "A red light isn't the desired state in testing but it sure helps when riding your bike at night."},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt.'},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+            desc: "Rib snap infant onesie for the junior automation engineer in development."},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests.'},
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+            desc: "It's not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything."}
+    ];
+
+    var root = document.getElementById('root');
+    var sortOrder = 'az';
+
+    // ---------------------------------------------------------------- state
+
+    function slug(product) {
+        return product.name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function findProduct(id) {
+        return PRODUCTS.filter(function (product) { return product.id === id; })[0];
+    }
+
+    function currentUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function startSession(username) {
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; path=/; max-age=600';
+    }
+
+    function endSession() {
+        document.cookie = SESSION_COOKIE + '=; path=/; max-age=0';
+        window.localStorage.removeItem(CART_KEY);
+    }
+
+    function getCart() {
+        try {
+            return JSON.parse(window.localStorage.getItem(CART_KEY)) || [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function setCart(ids) {
+        if (ids.length === 0) {
+            window.localStorage.removeItem(CART_KEY);
+        } else {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(ids));
+        }
+    }
+
+    function toggleCart(id) {
+        var cart = getCart();
+        var index = cart.indexOf(id);
+        if (index >= 0) {
+            cart.splice(index, 1);
+        } else {
+            cart.push(id);
+        }
+        setCart(cart);
+        return index < 0;
+    }
+
+    function go(path) {
+        window.location.href = '/' + path;
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    function el(tag, attributes, children) {
+        var node = document.createElement(tag);
+        Object.keys(attributes || {}).forEach(function (key) {
+            if (key === 'text') {
+                node.textContent = attributes[key];
+            } else if (key === 'onclick') {
+                node.addEventListener('click', attributes[key]);
+            } else {
+                node.setAttribute(key, attributes[key]);
+            }
+        });
+        (children || []).forEach(function (child) {
+            if (child) {
+                node.appendChild(child);
+            }
+        });
+        return node;
+    }
+
+    function image(product, className, dataTest) {
+        return el('img', {
+            'class': className,
+            'src': '/static/media/' + slug(product) + '.svg',
+            'alt': product.name,
+            'data-test': dataTest
+        });
+    }
+
+    function cartButton(product) {
+        var button = el('button', {'class': 'btn btn_small btn_inventory'});
+        function render() {
+            var inCart = getCart().indexOf(product.id) >= 0;
+            var id = (inCart ? 'remove-' : 'add-to-cart-') + slug(product);
+            button.id = id;
+            button.setAttribute('name', id);
+            button.setAttribute('data-test', id);
+            button.textContent = inCart ? 'Remove' : 'Add to cart';
+        }
+        button.addEventListener('click', function () {
+            toggleCart(product.id);
+            render();
+            updateBadge();
+        });
+        render();
+        return button;
+    }
+
+    function errorBox(message) {
+        var container = el('div', {'class': 'error-message-container' + (message ? ' error' : '')});
+        if (message) {
+            var heading = el('h3', {'data-test': 'error'});
+            heading.appendChild(document.createTextNode(message));
+            heading.appendChild(el('button', {'class': 'error-button', 'data-test': 'error-button'}));
+            container.appendChild(heading);
+        }
+        return container;
+    }
+
+    function updateBadge() {
+        var container = document.getElementById('shopping_cart_container');
+        if (!container) {
+            return;
+        }
+        var badge = container.querySelector('.shopping_cart_badge');
+        var count = getCart().length;
+        if (count === 0 && badge) {
+            badge.parentNode.removeChild(badge);
+        } else if (count > 0) {
+            if (!badge) {
+                badge = el('span', {'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge'});
+                container.querySelector('.shopping_cart_link').appendChild(badge);
+            }
+            badge.textContent = String(count);
+        }
+    }
+
+    function header(title) {
+        var menu = el('div', {'class': 'bm-menu-wrap', 'aria-hidden': 'true'}, [
+            el('nav', {'class': 'bm-item-list'}, [
+                el('a', {'id': 'inventory_sidebar_link', 'class': 'bm-item menu-item', 'data-test': 'inventory-sidebar-link',
+                    'text': 'All Items', 'onclick': function () { go('inventory.html'); }}),
+                el('a', {'id': 'logout_sidebar_link', 'class': 'bm-item menu-item', 'data-test': 'logout-sidebar-link',
+                    'text': 'Logout', 'onclick': function () { endSession(); go(''); }}),
+                el('a', {'id': 'reset_sidebar_link', 'class': 'bm-item menu-item', 'data-test': 'reset-sidebar-link',
+                    'text': 'Reset App State', 'onclick': function () { setCart([]); updateBadge(); }})
+            ])
+        ]);
+        var burger = el('button', {'id': 'react-burger-menu-btn', 'type': 'button', 'text': 'Open Menu',
+            'onclick': function () { menu.classList.add('open'); menu.setAttribute('aria-hidden', 'false'); }});
+        var cart = el('div', {'id': 'shopping_cart_container', 'class': 'shopping_cart_container'}, [
+            el('a', {'class': 'shopping_cart_link', 'data-test': 'shopping-cart-link',
+                'onclick': function () { go('cart.html'); }})
+        ]);
+        var wrapper = el('div', {'id': 'header_container', 'class': 'header_container'}, [
+            el('div', {'class': 'primary_header'}, [
+                el('div', {'id': 'menu_button_container'}, [burger, menu]),
+                el('div', {'class': 'app_logo', 'text': 'Swag Labs'}),
+                cart
+            ]),
+            el('div', {'class': 'header_secondary_container'}, [
+                el('span', {'class': 'title', 'data-test': 'title', 'text': title})
+            ])
+        ]);
+        root.appendChild(wrapper);
+        updateBadge();
+        return wrapper.querySelector('.header_secondary_container');
+    }
+
+    // ---------------------------------------------------------------- pages
+
+    function loginPage() {
+        var username = el('input', {'id': 'user-name', 'name': 'user-name', 'data-test': 'username', 'placeholder': 'Username', 'type': 'text'});
+        var password = el('input', {'id': 'password', 'name': 'password', 'data-test': 'password', 'placeholder': 'Password', 'type': 'password'});
+        var error = errorBox(sessionStorage.getItem('login-error'));
+        sessionStorage.removeItem('login-error');
+        var form = el('form', {}, [
+            username,
+            password,
+            error,
+            el('input', {'id': 'login-button', 'name': 'login-button', 'data-test': 'login-button', 'type': 'submit', 'value': 'Login', 'class': 'submit-button btn_action'})
+        ]);
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var message = null;
+            if (!username.value) {
+                message = 'Epic sadface: Username is required';
+            } else if (!password.value) {
+                message = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username.value) < 0 || password.value !== PASSWORD) {
+                message = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (username.value === 'locked_out_user') {
+                message = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+            if (message) {
+                form.replaceChild(errorBox(message), form.querySelector('.error-message-container'));
+                return;
+            }
+            startSession(username.value);
+            go('inventory.html');
+        });
+        root.appendChild(el('div', {'class': 'login_wrapper'}, [el('div', {'class': 'login_logo', 'text': 'Swag Labs'}), form]));
+    }
+
+    function inventoryPage() {
+        var secondary = header('Products');
+        var list = el('div', {'class': 'inventory_list', 'data-test': 'inventory-list'});
+        var sort = el('select', {'class': 'product_sort_container', 'data-test': 'product-sort-container'}, [
+            el('option', {'value': 'az', 'text': 'Name (A to Z)'}),
+            el('option', {'value': 'za', 'text': 'Name (Z to A)'}),
+            el('option', {'value': 'lohi', 'text': 'Price (low to high)'}),
+            el('option', {'value': 'hilo', 'text': 'Price (high to low)'})
+        ]);
+        sort.value = sortOrder;
+        sort.addEventListener('change', function () {
+            sortOrder = sort.value;
+            renderList();
+        });
+        secondary.appendChild(sort);
+
+        function renderList() {
+            var comparators = {
+                az: function (a, b) { return a.name < b.name ? -1 : 1; },
+                za: function (a, b) { return a.name < b.name ? 1 : -1; },
+                lohi: function (a, b) { return a.price - b.price; },
+                hilo: function (a, b) { return b.price - a.price; }
+            };
+            list.innerHTML = '';
+            PRODUCTS.slice().sort(comparators[sortOrder]).forEach(function (product) {
+                var open = function () { go('inventory-item.html?id=' + product.id); };
+                list.appendChild(el('div', {'class': 'inventory_item', 'data-test': 'inventory-item'}, [
+                    el('div', {'class': 'inventory_item_img'}, [
+                        el('a', {'id': 'item_' + product.id + '_img_link', 'onclick': open}, [
+                            image(product, 'inventory_item_img', 'inventory-item-' + slug(product) + '-img')
+                        ])
+                    ]),
+                    el('div', {'class': 'inventory_item_description'}, [
+                        el('a', {'id': 'item_' + product.id + '_title_link', 'onclick': open}, [
+                            el('div', {'class': 'inventory_item_name', 'data-test': 'inventory-item-name', 'text': product.name})
+                        ]),
+                        el('div', {'class': 'inventory_item_desc', 'data-test': 'inventory-item-desc', 'text': product.desc}),
+                        el('div', {'class': 'pricebar'}, [
+                            el('div', {'class': 'inventory_item_price', 'data-test': 'inventory-item-price', 'text': '$' + product.price}),
+                            cartButton(product)
+                        ])
+                    ])
+                ]));
+            });
+        }
+
+        root.appendChild(el('div', {'id': 'inventory_container', 'class': 'inventory_container'}, [list]));
+        renderList();
+    }
+
+    function inventoryItemPage() {
+        var id = parseInt(new URLSearchParams(window.location.search).get('id'), 10);
+        var product = findProduct(id);
+        header('');
+        var back = el('button', {'id': 'back-to-products', 'data-test': 'back-to-products', 'text': 'Back to products',
+            'onclick': function () { go('inventory.html'); }});
+        if (!product) {
+            root.appendChild(el('div', {'class': 'inventory_details_name', 'text': 'ITEM NOT FOUND'}));
+            root.appendChild(back);
+            return;
+        }
+        root.appendChild(el('div', {'id': 'inventory_item_container', 'class': 'inventory_details'}, [
+            back,
+            image(product, 'inventory_details_img', 'item-' + slug(product) + '-img'),
+            el('div', {'class': 'inventory_details_name large_size', 'data-test': 'inventory-item-name', 'text': product.name}),
+            el('div', {'class': 'inventory_details_desc large_size', 'data-test': 'inventory-item-desc', 'text': product.desc}),
+            el('div', {'class': 'inventory_details_price', 'data-test': 'inventory-item-price', 'text': '$' + product.price}),
+            cartButton(product)
+        ]));
+    }
+
+    function cartItems(withRemoveButtons) {
+        var list = el('div', {'class': 'cart_list', 'data-test': 'cart-list'});
+        getCart().forEach(function (id) {
+            var product = findProduct(id);
+            if (!product) {
+                return;
+            }
+            var item = el('div', {'class': 'cart_item', 'data-test': 'inventory-item'}, [
+                el('div', {'class': 'cart_quantity', 'data-test': 'item-quantity', 'text': '1'}),
+                el('div', {'class': 'cart_item_label'}, [
+                    el('a', {'id': 'item_' + product.id + '_title_link',
+                        'onclick': function () { go('inventory-item.html?id=' + product.id); }}, [
+                        el('div', {'class': 'inventory_item_name', 'data-test': 'inventory-item-name', 'text': product.name})
+                    ]),
+                    el('div', {'class': 'inventory_item_price', 'data-test': 'inventory-item-price', 'text': '$' + product.price})
+                ])
+            ]);
+            if (withRemoveButtons) {
+                var id = 'remove-' + slug(product);
+                item.querySelector('.cart_item_label').appendChild(el('button', {
+                    'id': id, 'name': id, 'data-test': id, 'class': 'btn btn_small cart_button', 'text': 'Remove',
+                    'onclick': function () {
+                        toggleCart(product.id);
+                        item.parentNode.removeChild(item);
+                        updateBadge();
+                    }
+                }));
+            }
+            list.appendChild(item);
+        });
+        return list;
+    }
+
+    function cartPage() {
+        header('Your Cart');
+        root.appendChild(el('div', {'id': 'cart_contents_container'}, [
+            cartItems(true),
+            el('button', {'id': 'continue-shopping', 'data-test': 'continue-shopping', 'text': 'Continue Shopping',
+                'onclick': function () { go('inventory.html'); }}),
+            el('button', {'id': 'checkout', 'data-test': 'checkout', 'text': 'Checkout',
+                'onclick': function () { go('checkout-step-one.html'); }})
+        ]));
+    }
+
+    function checkoutStepOnePage() {
+        header('Checkout: Your Information');
+        var firstName = el('input', {'id': 'first-name', 'name': 'firstName', 'data-test': 'firstName', 'placeholder': 'First Name', 'type': 'text'});
+        var lastName = el('input', {'id': 'last-name', 'name': 'lastName', 'data-test': 'lastName', 'placeholder': 'Last Name', 'type': 'text'});
+        var postalCode = el('input', {'id': 'postal-code', 'name': 'postalCode', 'data-test': 'postalCode', 'placeholder': 'Zip/Postal Code', 'type': 'text'});
+        var form = el('form', {'class': 'checkout_info'}, [
+            firstName,
+            lastName,
+            postalCode,
+            errorBox(null),
+            el('button', {'id': 'cancel', 'data-test': 'cancel', 'type': 'button', 'text': 'Cancel',
+                'onclick': function () { go('cart.html'); }}),
+            el('input', {'id': 'continue', 'name': 'continue', 'data-test': 'continue', 'type': 'submit', 'value': 'Continue', 'class': 'submit-button btn_action'})
+        ]);
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var message = null;
+            if (!firstName.value) {
+                message = 'Error: First Name is required';
+            } else if (!lastName.value) {
+                message = 'Error: Last Name is required';
+            } else if (!postalCode.value) {
+                message = 'Error: Postal Code is required';
+            }
+            if (message) {
+                form.replaceChild(errorBox(message), form.querySelector('.error-message-container'));
+                return;
+            }
+            go('checkout-step-two.html');
+        });
+        root.appendChild(el('div', {'id': 'checkout_info_container', 'class': 'checkout_info_container'}, [form]));
+    }
+
+    function checkoutStepTwoPage() {
+        header('Checkout: Overview');
+        var itemTotal = getCart().reduce(function (sum, id) {
+            var product = findProduct(id);
+            return product ? sum + product.price : sum;
+        }, 0);
+        var tax = Math.round(itemTotal * 0.08 * 100) / 100;
+        root.appendChild(el('div', {'id': 'checkout_summary_container', 'class': 'checkout_summary_container'}, [
+            cartItems(false),
+            el('div', {'class': 'summary_info'}, [
+                el('div', {'class': 'summary_subtotal_label', 'data-test': 'subtotal-label', 'text': 'Item total: $' + itemTotal}),
+                el('div', {'class': 'summary_tax_label', 'data-test': 'tax-label', 'text': 'Tax: $' + tax.toFixed(2)}),
+                el('div', {'class': 'summary_total_label', 'data-test': 'total-label', 'text': 'Total: $' + (itemTotal + tax).toFixed(2)}),
+                el('button', {'id': 'cancel', 'data-test': 'cancel', 'text': 'Cancel',
+                    'onclick': function () { go('inventory.html'); }}),
+                el('button', {'id': 'finish', 'data-test': 'finish', 'text': 'Finish',
+                    'onclick': function () { setCart([]); go('checkout-complete.html'); }})
+            ])
+        ]));
+    }
+
+    function checkoutCompletePage() {
+        header('Checkout: Complete!');
+        root.appendChild(el('div', {'id': 'checkout_complete_container', 'class': 'checkout_complete_container'}, [
+            el('img', {'class': 'pony_express', 'src': '/static/media/pony-express.svg', 'alt': 'Pony Express', 'data-test': 'pony-express'}),
+            el('h2', {'class': 'complete-header', 'data-test': 'complete-header', 'text': 'Thank you for your order!'}),
+            el('div', {'class': 'complete-text', 'data-test': 'complete-text',
+                'text': 'Your order has been dispatched, and will arrive just as fast as the pony can get there!'}),
+            el('button', {'id': 'back-to-products', 'data-test': 'back-to-products', 'text': 'Back Home',
+                'onclick': function () { go('inventory.html'); }})
+        ]));
+    }
+
+    // ---------------------------------------------------------------- routing
+
+    var routes = {
+        '': loginPage,
+        'index.html': loginPage,
+        'inventory.html': inventoryPage,
+        'inventory-item.html': inventoryItemPage,
+        'cart.html': cartPage,
+        'checkout-step-one.html': checkoutStepOnePage,
+        'checkout-step-two.html': checkoutStepTwoPage,
+        'checkout-complete.html': checkoutCompletePage
+    };
+
+    var page = window.location.pathname.replace(/^\//, '');
+    var render = routes[page] || loginPage;
+    if (render !== loginPage && !currentUser()) {
+        sessionStorage.setItem('login-error',
+            "Epic sadface: You can only access '/" + page + "' when you are logged in.");
+        go('');
+    } else {
+        render();
+    }
+})();
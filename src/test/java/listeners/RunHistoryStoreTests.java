@@ -0,0 +1,47 @@
+package listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for reading the run history back; they need no browser.
+ */
+public class RunHistoryStoreTests {
+
+    /**
+     * Test to verify that corrupt lines, e.g. truncated by an interrupted run, are skipped without losing the rest.
+     */
+    @Test(groups = {"unit"})
+    public void testCorruptLinesAreSkipped() throws IOException {
+        Path historyFile = Files.createTempFile("run-history", ".csv");
+        Files.writeString(historyFile, String.join("\n",
+                "2024-01-01T10:00:00Z,tests.A,SUCCESS,1200",
+                "2024-01-01T10:00:01Z,tests.A,FAILURE,12",
+                "2024-01-01T10:00:02Z,tests.B,SUCCESS,not-a-number",
+                "2024-01-02T10:00:00Z,tests.A,SUCCESS,1800",
+                "2024-01-02T10:00:01Z,tests.B,SUC"), StandardCharsets.UTF_8);
+
+        Map<String, RunHistoryStore.TestHistory> histories = RunHistoryStore.load(historyFile);
+
+        Assert.assertEquals(histories.keySet(), Set.of("tests.A"));
+        Assert.assertEquals(histories.get("tests.A").averageDurationMillis(), 1004L);
+        Assert.assertEquals(histories.get("tests.A").runsSinceLastFailure(), 1);
+    }
+
+    /**
+     * Test to verify that a missing history file yields an empty history.
+     */
+    @Test(groups = {"unit"})
+    public void testMissingFileYieldsEmptyHistory() throws IOException {
+        Path directory = Files.createTempDirectory("run-history");
+
+        Assert.assertTrue(RunHistoryStore.load(directory.resolve("run-history.csv")).isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package listeners;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the shard planner; they need no browser.
+ */
+public class ShardPlannerTests {
+
+    /**
+     * Test to verify that without any history the tests are dealt out in name order, balancing the shards by count.
+     */
+    @Test(groups = {"unit"})
+    public void testEmptyHistoryBalancesByCount() {
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(Arrays.asList("tests.C", "tests.A", "tests.D", "tests.B"),
+                Collections.emptyMap(), 2);
+
+        Assert.assertEquals(shards.get(0).getTests(), Arrays.asList("tests.A", "tests.C"));
+        Assert.assertEquals(shards.get(1).getTests(), Arrays.asList("tests.B", "tests.D"));
+        Assert.assertEquals(shards.get(0).getEstimatedMillis(), shards.get(1).getEstimatedMillis());
+    }
+
+    /**
+     * Test to verify that a test without history is assumed to take the average known duration.
+     */
+    @Test(groups = {"unit"})
+    public void testUnknownTestTakesAverageDuration() {
+        Map<String, Long> durations = Map.of("tests.A", 3000L, "tests.B", 1000L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(Arrays.asList("tests.A", "tests.B", "tests.New"), durations, 2);
+
+        Assert.assertEquals(shards.get(0).getTests(), Collections.singletonList("tests.A"));
+        Assert.assertEquals(shards.get(1).getTests(), Arrays.asList("tests.New", "tests.B"));
+        Assert.assertEquals(shards.get(1).getEstimatedMillis(), 3000L);
+    }
+
+    /**
+     * Test to verify that tied durations are broken by name, so the plan does not depend on the discovery order.
+     */
+    @Test(groups = {"unit"})
+    public void testTiedDurationsAreDeterministic() {
+        Map<String, Long> durations = Map.of("tests.A", 500L, "tests.B", 500L, "tests.C", 500L);
+
+        List<ShardPlanner.Shard> forward = ShardPlanner.plan(Arrays.asList("tests.A", "tests.B", "tests.C"), durations, 2);
+        List<ShardPlanner.Shard> reversed = ShardPlanner.plan(Arrays.asList("tests.C", "tests.B", "tests.A"), durations, 2);
+
+        Assert.assertEquals(forward.get(0).getTests(), Arrays.asList("tests.A", "tests.C"));
+        Assert.assertEquals(forward.get(1).getTests(), Collections.singletonList("tests.B"));
+        for (int i = 0; i < forward.size(); i++) {
+            Assert.assertEquals(reversed.get(i).getTests(), forward.get(i).getTests());
+        }
+    }
+
+    /**
+     * Test to verify that the most recent Allure result of a test provides its duration.
+     */
+    @Test(groups = {"unit"})
+    public void testReadDurationsKeepsMostRecentResult() throws IOException {
+        Path resultsDir = Files.createTempDirectory("shard-history");
+        Files.writeString(resultsDir.resolve("1-result.json"),
+                "{\"fullName\": \"tests.A\", \"start\": 1000, \"stop\": 1500}", StandardCharsets.UTF_8);
+        Files.writeString(resultsDir.resolve("2-result.json"),
+                "{\"fullName\": \"tests.A\", \"start\": 5000, \"stop\": 7000}", StandardCharsets.UTF_8);
+        Files.writeString(resultsDir.resolve("3-container.json"), "{}", StandardCharsets.UTF_8);
+
+        Assert.assertEquals(ShardPlanner.readDurations(resultsDir), Map.of("tests.A", 2000L));
+        Assert.assertTrue(ShardPlanner.readDurations(resultsDir.resolve("missing")).isEmpty());
+    }
+}
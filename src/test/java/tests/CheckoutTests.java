@@ -1,56 +1,60 @@
 package tests;
 
+import base.Authenticated;
 import base.BaseTest;
 import config.DriverManager;
+import config.TestConfig;
 import io.qameta.allure.Allure;
 import models.Product;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import pages.CartPage;
 import pages.CheckoutPage;
-import pages.LoginPage;
 import pages.ProductPage;
-import utils.EnvLoader;
+import utils.StateCheckpoints;
+import utils.WaitEngine;
 
 import java.util.List;
 
 /**
  * Test class for Checkout functionality, covering both positive and negative scenarios.
+ * Tests start on the products page with an injected authenticated session.
  */
+@Authenticated
 public class CheckoutTests extends BaseTest {
 
+    // Checkpoint holding a cart with all products, captured on the checkout information page
+    private static final String CHECKOUT_STEP_ONE = "checkout-step-one-with-full-cart";
+
+    /**
+     * Opens the checkout information page with all products in the cart.
+     * The first caller walks through the UI and captures a checkpoint; later callers restore it in one navigation.
+     */
+    private void openCheckoutInformationPage() {
+        StateCheckpoints.restoreOrCreate(DriverManager.getDriver(), CHECKOUT_STEP_ONE, () -> {
+            ProductPage productPage = new ProductPage(DriverManager.getDriver());
+            productPage.clickAllAddToCartButtons();
+            productPage.clickShoppingCartContainer();
+
+            CartPage cartPage = new CartPage(DriverManager.getDriver());
+            cartPage.clickCheckoutButton();
+            WaitEngine.waitForUrlContains(DriverManager.getDriver(), "checkout-step-one.html");
+        });
+    }
+
     /**
      * Test to verify that an error is displayed when the First Name field is left empty during checkout.
      */
     @Test(groups = {"negative"})
     public void testFirstNameIsRequired() {
-        Allure.step("Fetch valid credentials from environment file", () -> {
-            String username = EnvLoader.getEnv("VALID_USERNAME");
-            String password = EnvLoader.getEnv("VALID_PASSWORD");
-
-            Allure.step("Perform login with valid credentials", () -> {
-                LoginPage loginPage = new LoginPage(DriverManager.getDriver());
-                loginPage.login(username, password);
-            });
-
-            Allure.step("Add all products to cart and proceed to checkout", () -> {
-                ProductPage productPage = new ProductPage(DriverManager.getDriver());
-                productPage.clickAllAddToCartButtons();
-                productPage.clickShoppingCartContainer();
-
-                CartPage cartPage = new CartPage(DriverManager.getDriver());
-                cartPage.clickCheckoutButton();
-            });
+        Allure.step("Restore a cart with all products on the checkout information page", this::openCheckoutInformationPage);
 
-            Allure.step("Verify error when First Name is missing", () -> {
-                CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
-                checkoutPage.enterLastName("Doe");
-                checkoutPage.enterPostalCode("12345");
-                checkoutPage.clickContinue();
+        Allure.step("Verify error when First Name is missing", () -> {
+            CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
+            checkoutPage.fillCheckoutInformation("", "Doe", "12345");
 
-                Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: First Name is required"),
-                        "First Name required error message not displayed.");
-            });
+            Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: First Name is required"),
+                    "First Name required error message not displayed.");
         });
     }
 
@@ -59,68 +63,33 @@ public class CheckoutTests extends BaseTest {
      */
     @Test(groups = {"negative"})
     public void testLastNameIsRequired() {
-        Allure.step("Fetch valid credentials from environment file", () -> {
-            String username = EnvLoader.getEnv("VALID_USERNAME");
-            String password = EnvLoader.getEnv("VALID_PASSWORD");
-
-            Allure.step("Perform login with valid credentials", () -> {
-                LoginPage loginPage = new LoginPage(DriverManager.getDriver());
-                loginPage.login(username, password);
-            });
+        Allure.step("Restore a cart with all products on the checkout information page", this::openCheckoutInformationPage);
 
-            Allure.step("Add all products to cart and proceed to checkout", () -> {
-                ProductPage productPage = new ProductPage(DriverManager.getDriver());
-                productPage.clickAllAddToCartButtons();
-                productPage.clickShoppingCartContainer();
+        Allure.step("Verify error when Last Name is missing", () -> {
+            CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
+            checkoutPage.fillCheckoutInformation("John", "", "12345");
 
-                CartPage cartPage = new CartPage(DriverManager.getDriver());
-                cartPage.clickCheckoutButton();
-            });
-
-            Allure.step("Verify error when Last Name is missing", () -> {
-                CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
-                checkoutPage.enterFirstName("John");
-                checkoutPage.enterPostalCode("12345");
-                checkoutPage.clickContinue();
-
-                Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: Last Name is required"),
-                        "Last Name required error message not displayed.");
-            });
+            Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: Last Name is required"),
+                    "Last Name required error message not displayed.");
         });
     }
 
     /**
      * Test to verify that an error is displayed when the Postal Code field is left empty during checkout.
+     * Types into the form field by field, as a user would, so the typed path stays covered.
      */
     @Test(groups = {"negative"})
     public void testPostalCodeIsRequired() {
-        Allure.step("Fetch valid credentials from environment file", () -> {
-            String username = EnvLoader.getEnv("VALID_USERNAME");
-            String password = EnvLoader.getEnv("VALID_PASSWORD");
+        Allure.step("Restore a cart with all products on the checkout information page", this::openCheckoutInformationPage);
 
-            Allure.step("Perform login with valid credentials", () -> {
-                LoginPage loginPage = new LoginPage(DriverManager.getDriver());
-                loginPage.login(username, password);
-            });
-
-            Allure.step("Add all products to cart and proceed to checkout", () -> {
-                ProductPage productPage = new ProductPage(DriverManager.getDriver());
-                productPage.clickAllAddToCartButtons();
-                productPage.clickShoppingCartContainer();
+        Allure.step("Verify error when Postal Code is missing", () -> {
+            CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
+            checkoutPage.enterFirstName("John");
+            checkoutPage.enterLastName("Doe");
+            checkoutPage.clickContinue();
 
-                CartPage cartPage = new CartPage(DriverManager.getDriver());
-                cartPage.clickCheckoutButton();
-            });
-
-            Allure.step("Verify error when Postal Code is missing", () -> {
-                CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
-                checkoutPage.enterFirstName("John");
-                checkoutPage.enterLastName("Doe");
-                checkoutPage.clickContinue();
-
-                Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: Postal Code is required"),
-                        "Postal Code required error message not displayed.");
-            });
+            Assert.assertTrue(checkoutPage.isErrorMessageVisible("Error: Postal Code is required"),
+                    "Postal Code required error message not displayed.");
         });
     }
 
@@ -129,50 +98,37 @@ public class CheckoutTests extends BaseTest {
      */
     @Test(groups = {"positive"})
     public void testCheckoutEndToEnd() {
-        Allure.step("Fetch valid credentials from environment file", () -> {
-            String username = EnvLoader.getEnv("VALID_USERNAME");
-            String password = EnvLoader.getEnv("VALID_PASSWORD");
-
-            Allure.step("Perform login with valid credentials", () -> {
-                LoginPage loginPage = new LoginPage(DriverManager.getDriver());
-                loginPage.login(username, password);
+        Allure.step("Add all products to cart and proceed to checkout", () -> {
+            ProductPage productPage = new ProductPage(DriverManager.getDriver());
+            List<Product> products = productPage.getProducts();
+            productPage.clickAllAddToCartButtons();
+            productPage.clickShoppingCartContainer();
+
+            CartPage cartPage = new CartPage(DriverManager.getDriver());
+            cartPage.clickCheckoutButton();
+
+            CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
+            checkoutPage.fillCheckoutInformation("John", "Doe", "12345");
+
+            Allure.step("Verify item total matches calculated total", () -> {
+                double totalPrice = products.stream()
+                        .mapToDouble(product -> Double.parseDouble(product.getPrice().replace("$", "")))
+                        .sum();
+                String itemTotalText = checkoutPage.getItemTotalText();
+                Assert.assertEquals(itemTotalText.replace("Item total: $", ""), String.valueOf(totalPrice));
             });
 
-            Allure.step("Add all products to cart and proceed to checkout", () -> {
-                ProductPage productPage = new ProductPage(DriverManager.getDriver());
-                List<Product> products = productPage.getProducts();
-                productPage.clickAllAddToCartButtons();
-                productPage.clickShoppingCartContainer();
-
-                CartPage cartPage = new CartPage(DriverManager.getDriver());
-                cartPage.clickCheckoutButton();
-
-                CheckoutPage checkoutPage = new CheckoutPage(DriverManager.getDriver());
-                checkoutPage.enterFirstName("John");
-                checkoutPage.enterLastName("Doe");
-                checkoutPage.enterPostalCode("12345");
-                checkoutPage.clickContinue();
-
-                Allure.step("Verify item total matches calculated total", () -> {
-                    double totalPrice = products.stream()
-                            .mapToDouble(product -> Double.parseDouble(product.getPrice().replace("$", "")))
-                            .sum();
-                    String itemTotalText = checkoutPage.getItemTotalText();
-                    Assert.assertEquals(itemTotalText.replace("Item total: $", ""), String.valueOf(totalPrice));
-                });
-
-                Allure.step("Complete checkout process", () -> {
-                    checkoutPage.clickFinish();
-
-                    Assert.assertTrue(checkoutPage.isElementVisibleByText("Checkout: Complete!"),
-                            "Checkout Complete text is not visible.");
-                    Assert.assertTrue(checkoutPage.isPonyExpressLogoVisible(),
-                            "Pony Express logo is not visible.");
-
-                    checkoutPage.clickBackToProducts();
-                    Assert.assertEquals(DriverManager.getDriver().getCurrentUrl(), "https://www.saucedemo.com/inventory.html",
-                            "Not on the Inventory page after clicking Back to Products.");
-                });
+            Allure.step("Complete checkout process", () -> {
+                checkoutPage.clickFinish();
+
+                Assert.assertTrue(checkoutPage.isTitleVisible("Checkout: Complete!"),
+                        "Checkout Complete text is not visible.");
+                Assert.assertTrue(checkoutPage.isPonyExpressLogoVisible(),
+                        "Pony Express logo is not visible.");
+
+                checkoutPage.clickBackToProducts();
+                Assert.assertEquals(DriverManager.getDriver().getCurrentUrl(), TestConfig.getBaseUrl() + "inventory.html",
+                        "Not on the Inventory page after clicking Back to Products.");
             });
         });
     }
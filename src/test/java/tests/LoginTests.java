@@ -2,6 +2,7 @@ package tests;
 
 import base.BaseTest;
 import config.DriverManager;
+import config.TestConfig;
 import io.qameta.allure.Allure;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -28,7 +29,7 @@ public class LoginTests extends BaseTest {
 
                 Allure.step("Verify user is redirected to inventory page", () -> {
                     String currentUrl = DriverManager.getDriver().getCurrentUrl();
-                    Assert.assertEquals(currentUrl, "https://www.saucedemo.com/inventory.html",
+                    Assert.assertEquals(currentUrl, TestConfig.getBaseUrl() + "inventory.html",
                             "The URL after logging in is incorrect.");
                 });
             });
@@ -40,7 +41,7 @@ public class LoginTests extends BaseTest {
 
                 Allure.step("Verify user is redirected to the login page", () -> {
                     String logoutUrl = DriverManager.getDriver().getCurrentUrl();
-                    Assert.assertEquals(logoutUrl, "https://www.saucedemo.com/",
+                    Assert.assertEquals(logoutUrl, TestConfig.getBaseUrl(),
                             "The URL after logging out is incorrect.");
                 });
             });
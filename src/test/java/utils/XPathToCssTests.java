@@ -0,0 +1,50 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Optional;
+
+/**
+ * Unit tests for the XPath to CSS translation; they need no browser.
+ */
+public class XPathToCssTests {
+
+    /**
+     * Test to verify that attribute predicates have an exact translation, which is also what gets proposed.
+     */
+    @Test(groups = {"unit"})
+    public void testAttributePredicatesAreTranslatedExactly() {
+        Assert.assertEquals(XPathToCss.translate("//div[@id='x']"), Optional.of("div[id='x']"));
+        Assert.assertEquals(XPathToCss.translate("//*[@data-test='title']"), Optional.of("[data-test='title']"));
+        Assert.assertEquals(XPathToCss.translate("//button[contains(@class, 'btn')]"), Optional.of("button[class*='btn']"));
+        Assert.assertEquals(XPathToCss.translate("//button[starts-with(@id, 'add')]"), Optional.of("button[id^='add']"));
+        Assert.assertEquals(XPathToCss.propose(By.xpath("//div[@id='x']")), Optional.of("div[id='x']"));
+    }
+
+    /**
+     * Test to verify that text() predicates have no exact translation and only get a data-test proposal.
+     */
+    @Test(groups = {"unit"})
+    public void testTextPredicatesAreOnlyProposed() {
+        String xpath = "//*[text()='Checkout: Complete!']";
+
+        Assert.assertEquals(XPathToCss.translate(xpath), Optional.empty());
+        Assert.assertEquals(XPathToCss.propose(By.xpath(xpath)), Optional.of("[data-test^='checkout-complete']"));
+        Assert.assertEquals(XPathToCss.propose(By.xpath("//button[text()='Add to cart']")),
+                Optional.of("button[data-test^='add-to-cart']"));
+        Assert.assertTrue(XPathToCss.isDocumentScan(By.xpath(xpath)));
+    }
+
+    /**
+     * Test to verify that expressions outside the supported forms are neither translated nor proposed.
+     */
+    @Test(groups = {"unit"})
+    public void testUnsupportedExpressionsAreLeftAlone() {
+        Assert.assertEquals(XPathToCss.translate("//div/span[@id='x']"), Optional.empty());
+        Assert.assertEquals(XPathToCss.propose(By.xpath("//div[@id='x' and @class='y']")), Optional.empty());
+        Assert.assertEquals(XPathToCss.propose(By.cssSelector("div")), Optional.empty());
+        Assert.assertFalse(XPathToCss.isDocumentScan(By.xpath("//div[@id='x']")));
+    }
+}